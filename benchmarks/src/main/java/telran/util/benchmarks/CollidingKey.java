@@ -0,0 +1,31 @@
+package telran.util.benchmarks;
+
+// groups of 64 consecutive values share one hash code
+public final class CollidingKey implements Comparable<CollidingKey> {
+    private static final int COLLISION_BITS = 6;
+    private final int value;
+
+    public CollidingKey(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public int hashCode() {
+        return value >>> COLLISION_BITS;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CollidingKey key && key.value == value;
+    }
+
+    @Override
+    public int compareTo(CollidingKey o) {
+        return Integer.compare(value, o.value);
+    }
+
+    @Override
+    public String toString() {
+        return Integer.toString(value);
+    }
+}
@@ -0,0 +1,51 @@
+package telran.util.benchmarks;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public enum KeyDistribution {
+    RANDOM, SORTED, BALANCED, COLLIDING;
+
+    private static final long SEED = 42;
+
+    public Object[] getKeys(int size) {
+        Random random = new Random(SEED);
+        return switch (this) {
+            case RANDOM -> random.ints().distinct().limit(size).boxed().toArray();
+            case SORTED -> IntStream.rangeClosed(1, size).boxed().toArray();
+            case BALANCED -> getBalancedKeys(size);
+            case COLLIDING -> shuffle(IntStream.range(0, size).mapToObj(CollidingKey::new).toArray(), random);
+        };
+    }
+
+    // the order of SortedSetTest.getBigArrayHW: every middle goes before its halves
+    private static Object[] getBalancedKeys(int size) {
+        Object[] res = new Object[size];
+        fillBalanced(res, 1, size, 0);
+        return res;
+    }
+
+    private static int fillBalanced(Object[] keys, int left, int right, int index) {
+        if (left <= right) {
+            int middle = (left + right) / 2;
+            keys[index++] = middle;
+            index = fillBalanced(keys, left, middle - 1, index);
+            index = fillBalanced(keys, middle + 1, right, index);
+        }
+        return index;
+    }
+
+    public static Object[] shuffle(Object[] keys) {
+        return shuffle(keys, new Random(SEED + 1));
+    }
+
+    private static Object[] shuffle(Object[] keys, Random random) {
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        return keys;
+    }
+}
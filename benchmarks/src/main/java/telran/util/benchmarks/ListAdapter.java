@@ -0,0 +1,97 @@
+package telran.util.benchmarks;
+
+import java.util.function.Consumer;
+
+// common operations of telran.util and java.util lists, so both run the same benchmark code
+public interface ListAdapter {
+    boolean add(Object value);
+
+    void add(int index, Object value);
+
+    Object remove(int index);
+
+    Object get(int index);
+
+    boolean contains(Object value);
+
+    void forEach(Consumer<Object> action);
+
+    static ListAdapter of(String implementation) {
+        return switch (implementation) {
+            case "telran.ArrayList" -> ofTelran(new telran.util.ArrayList<>());
+            case "telran.LinkedList" -> ofTelran(new telran.util.LinkedList<>());
+            case "telran.UnrolledLinkedList" -> ofTelran(new telran.util.UnrolledLinkedList<>());
+            case "java.ArrayList" -> ofJava(new java.util.ArrayList<>());
+            case "java.LinkedList" -> ofJava(new java.util.LinkedList<>());
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    static ListAdapter ofTelran(telran.util.List<Object> list) {
+        return new ListAdapter() {
+            @Override
+            public boolean add(Object value) {
+                return list.add(value);
+            }
+
+            @Override
+            public void add(int index, Object value) {
+                list.add(index, value);
+            }
+
+            @Override
+            public Object remove(int index) {
+                return list.remove(index);
+            }
+
+            @Override
+            public Object get(int index) {
+                return list.get(index);
+            }
+
+            @Override
+            public boolean contains(Object value) {
+                return list.contains(value);
+            }
+
+            @Override
+            public void forEach(Consumer<Object> action) {
+                list.forEach(action);
+            }
+        };
+    }
+
+    static ListAdapter ofJava(java.util.List<Object> list) {
+        return new ListAdapter() {
+            @Override
+            public boolean add(Object value) {
+                return list.add(value);
+            }
+
+            @Override
+            public void add(int index, Object value) {
+                list.add(index, value);
+            }
+
+            @Override
+            public Object remove(int index) {
+                return list.remove(index);
+            }
+
+            @Override
+            public Object get(int index) {
+                return list.get(index);
+            }
+
+            @Override
+            public boolean contains(Object value) {
+                return list.contains(value);
+            }
+
+            @Override
+            public void forEach(Consumer<Object> action) {
+                list.forEach(action);
+            }
+        };
+    }
+}
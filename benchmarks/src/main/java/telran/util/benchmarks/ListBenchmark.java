@@ -0,0 +1,96 @@
+package telran.util.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListBenchmark {
+    @Param({ "telran.ArrayList", "telran.LinkedList", "telran.UnrolledLinkedList", "java.ArrayList",
+            "java.LinkedList" })
+    String implementation;
+    @Param({ "1000", "10000", "100000" })
+    int size;
+    @Param({ "RANDOM", "SORTED" })
+    KeyDistribution distribution;
+
+    Object[] values;
+    int[] indexes;
+    ListAdapter list;
+    int probeIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = distribution.getKeys(size);
+        indexes = new java.util.Random(size).ints(size, 0, size).toArray();
+        list = fill(ListAdapter.of(implementation));
+    }
+
+    private ListAdapter fill(ListAdapter list) {
+        for (Object value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private int nextIndex() {
+        int res = indexes[probeIndex];
+        probeIndex = probeIndex + 1 == indexes.length ? 0 : probeIndex + 1;
+        return res;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ListAdapter add() {
+        return fill(ListAdapter.of(implementation));
+    }
+
+    @Benchmark
+    public Object get() {
+        return list.get(nextIndex());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean contains() {
+        return list.contains(values[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object removeAddAtIndex() {
+        int index = nextIndex();
+        Object res = list.remove(index);
+        list.add(index, res);
+        return res;
+    }
+
+    @Benchmark
+    public Object removeAddAtHead() {
+        Object res = list.remove(0);
+        list.add(0, res);
+        return res;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterate(Blackhole blackhole) {
+        list.forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,84 @@
+package telran.util.benchmarks;
+
+import java.util.function.Consumer;
+
+// common operations of telran.util and java.util maps, so both run the same benchmark code
+public interface MapAdapter {
+    Object put(Object key, Object value);
+
+    Object get(Object key);
+
+    boolean containsKey(Object key);
+
+    Object remove(Object key);
+
+    void forEachValue(Consumer<Object> action);
+
+    static MapAdapter of(String implementation) {
+        return switch (implementation) {
+            case "telran.HashMap" -> ofTelran(new telran.util.HashMap<>());
+            case "telran.TreeMap" -> ofTelran(new telran.util.TreeMap<>());
+            case "java.HashMap" -> ofJava(new java.util.HashMap<>());
+            case "java.TreeMap" -> ofJava(new java.util.TreeMap<>());
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    static MapAdapter ofTelran(telran.util.Map<Object, Object> map) {
+        return new MapAdapter() {
+            @Override
+            public Object put(Object key, Object value) {
+                return map.put(key, value);
+            }
+
+            @Override
+            public Object get(Object key) {
+                return map.get(key);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public Object remove(Object key) {
+                return map.remove(key);
+            }
+
+            @Override
+            public void forEachValue(Consumer<Object> action) {
+                map.entrySet().forEach(entry -> action.accept(entry.getValue()));
+            }
+        };
+    }
+
+    static MapAdapter ofJava(java.util.Map<Object, Object> map) {
+        return new MapAdapter() {
+            @Override
+            public Object put(Object key, Object value) {
+                return map.put(key, value);
+            }
+
+            @Override
+            public Object get(Object key) {
+                return map.get(key);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public Object remove(Object key) {
+                return map.remove(key);
+            }
+
+            @Override
+            public void forEachValue(Consumer<Object> action) {
+                map.entrySet().forEach(entry -> action.accept(entry.getValue()));
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package telran.util.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+    @Param({ "telran.HashMap", "telran.TreeMap", "java.HashMap", "java.TreeMap" })
+    String implementation;
+    @Param({ "1000", "10000", "100000" })
+    int size;
+    @Param({ "RANDOM", "SORTED", "BALANCED", "COLLIDING" })
+    KeyDistribution distribution;
+
+    Object[] keys;
+    Object[] probes;
+    MapAdapter map;
+    int probeIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = distribution.getKeys(size);
+        probes = KeyDistribution.shuffle(keys.clone());
+        map = fill(MapAdapter.of(implementation));
+    }
+
+    private MapAdapter fill(MapAdapter map) {
+        for (Object key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    private Object nextProbe() {
+        Object res = probes[probeIndex];
+        probeIndex = probeIndex + 1 == probes.length ? 0 : probeIndex + 1;
+        return res;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MapAdapter put() {
+        return fill(MapAdapter.of(implementation));
+    }
+
+    @Benchmark
+    public Object get() {
+        return map.get(nextProbe());
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return map.containsKey(nextProbe());
+    }
+
+    @Benchmark
+    public Object removePut() {
+        Object key = nextProbe();
+        return map.put(key, map.remove(key));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterate(Blackhole blackhole) {
+        map.forEachValue(blackhole::consume);
+    }
+}
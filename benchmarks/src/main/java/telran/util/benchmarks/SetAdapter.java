@@ -0,0 +1,80 @@
+package telran.util.benchmarks;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+// common operations of telran.util and java.util sets, so both run the same benchmark code
+public interface SetAdapter {
+    boolean add(Object key);
+
+    boolean contains(Object key);
+
+    boolean remove(Object key);
+
+    void forEach(Consumer<Object> action);
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static SetAdapter of(String implementation) {
+        Comparator<Object> natural = (Comparator) Comparator.naturalOrder();
+        return switch (implementation) {
+            case "telran.HashSet" -> ofTelran(new telran.util.HashSet<>());
+            case "telran.LinkedHashSet" -> ofTelran(new telran.util.LinkedHashSet<>());
+            case "telran.TreeSet" -> ofTelran(new telran.util.TreeSet<>(natural));
+            case "telran.TreeSet.balanced" -> ofTelran(new telran.util.TreeSet<>(natural, true));
+            case "telran.ConcurrentSkipListSet" -> ofTelran(new telran.util.concurrent.ConcurrentSkipListSet<>(natural));
+            case "java.HashSet" -> ofJava(new java.util.HashSet<>());
+            case "java.LinkedHashSet" -> ofJava(new java.util.LinkedHashSet<>());
+            case "java.TreeSet" -> ofJava(new java.util.TreeSet<>(natural));
+            case "java.ConcurrentSkipListSet" -> ofJava(new java.util.concurrent.ConcurrentSkipListSet<>(natural));
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    static SetAdapter ofTelran(telran.util.Set<Object> set) {
+        return new SetAdapter() {
+            @Override
+            public boolean add(Object key) {
+                return set.add(key);
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return set.contains(key);
+            }
+
+            @Override
+            public boolean remove(Object key) {
+                return set.remove(key);
+            }
+
+            @Override
+            public void forEach(Consumer<Object> action) {
+                set.forEach(action);
+            }
+        };
+    }
+
+    static SetAdapter ofJava(java.util.Set<Object> set) {
+        return new SetAdapter() {
+            @Override
+            public boolean add(Object key) {
+                return set.add(key);
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return set.contains(key);
+            }
+
+            @Override
+            public boolean remove(Object key) {
+                return set.remove(key);
+            }
+
+            @Override
+            public void forEach(Consumer<Object> action) {
+                set.forEach(action);
+            }
+        };
+    }
+}
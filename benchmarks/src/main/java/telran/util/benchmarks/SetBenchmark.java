@@ -0,0 +1,82 @@
+package telran.util.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SetBenchmark {
+    @Param({ "telran.HashSet", "telran.LinkedHashSet", "telran.TreeSet", "telran.TreeSet.balanced",
+            "telran.ConcurrentSkipListSet", "java.HashSet", "java.LinkedHashSet", "java.TreeSet",
+            "java.ConcurrentSkipListSet" })
+    String implementation;
+    @Param({ "1000", "10000", "100000" })
+    int size;
+    @Param({ "RANDOM", "SORTED", "BALANCED", "COLLIDING" })
+    KeyDistribution distribution;
+
+    Object[] keys;
+    Object[] probes;
+    SetAdapter set;
+    int probeIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = distribution.getKeys(size);
+        probes = KeyDistribution.shuffle(keys.clone());
+        set = fill(SetAdapter.of(implementation));
+    }
+
+    private SetAdapter fill(SetAdapter set) {
+        for (Object key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    private Object nextProbe() {
+        Object res = probes[probeIndex];
+        probeIndex = probeIndex + 1 == probes.length ? 0 : probeIndex + 1;
+        return res;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public SetAdapter add() {
+        return fill(SetAdapter.of(implementation));
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(nextProbe());
+    }
+
+    @Benchmark
+    public boolean removeAdd() {
+        Object key = nextProbe();
+        return set.remove(key) && set.add(key);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterate(Blackhole blackhole) {
+        set.forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,76 @@
+package telran.util.benchmarks;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortedSetBenchmark {
+    @Param({ "telran.TreeSet", "telran.TreeSet.balanced", "java.TreeSet" })
+    String implementation;
+    @Param({ "1000", "10000", "100000" })
+    int size;
+    @Param({ "RANDOM", "SORTED", "BALANCED" })
+    KeyDistribution distribution;
+
+    Object[] probes;
+    UnaryOperator<Object> floor;
+    UnaryOperator<Object> ceiling;
+    int probeIndex;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void setUp() {
+        Object[] keys = distribution.getKeys(size);
+        probes = KeyDistribution.shuffle(keys.clone());
+        Comparator<Object> natural = (Comparator) Comparator.naturalOrder();
+        if (implementation.startsWith("java.")) {
+            java.util.TreeSet<Object> set = new java.util.TreeSet<>(natural);
+            java.util.Collections.addAll(set, keys);
+            floor = set::floor;
+            ceiling = set::ceiling;
+        } else {
+            telran.util.TreeSet<Object> set = new telran.util.TreeSet<>(natural,
+                    implementation.endsWith(".balanced"));
+            for (Object key : keys) {
+                set.add(key);
+            }
+            floor = set::floor;
+            ceiling = set::ceiling;
+        }
+    }
+
+    private Object nextProbe() {
+        Object res = probes[probeIndex];
+        probeIndex = probeIndex + 1 == probes.length ? 0 : probeIndex + 1;
+        return res;
+    }
+
+    @Benchmark
+    public Object floor() {
+        return floor.apply(nextProbe());
+    }
+
+    @Benchmark
+    public Object ceiling() {
+        return ceiling.apply(nextProbe());
+    }
+}
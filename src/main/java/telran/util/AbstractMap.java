@@ -2,12 +2,113 @@ package telran.util;
 
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractMap<K, V> implements Map<K, V> {
     protected Set<Entry<K, V>> set;
 
-    protected abstract Set<K> getEmptyKeySet();
+    // views over the entry set, iterated in its order without copying; they remove mappings, but can't add them
+    private abstract class View<T> implements Collection<T> {
+        abstract T of(Entry<K, V> entry);
+
+        @Override
+        public boolean add(T obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return set.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            set.clear();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                final Iterator<Entry<K, V>> iterator = set.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return of(iterator.next());
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+    }
+
+    private class KeySet extends View<K> implements Set<K> {
+        @Override
+        K of(Entry<K, V> entry) {
+            return entry.getKey();
+        }
+
+        @Override
+        public boolean remove(K pattern) {
+            Entry<K, V> entry = getEntry(pattern);
+            if (entry != null) {
+                set.remove(entry);
+            }
+            return entry != null;
+        }
+
+        @Override
+        public boolean contains(K pattern) {
+            return containsKey(pattern);
+        }
+
+        @Override
+        public K get(Object pattern) {
+            Entry<K, V> entry = getEntry(pattern);
+            return entry == null ? null : entry.getKey();
+        }
+    }
+
+    private class Values extends View<V> {
+        @Override
+        V of(Entry<K, V> entry) {
+            return entry.getValue();
+        }
+
+        @Override
+        public boolean remove(V pattern) {
+            Iterator<Entry<K, V>> it = set.iterator();
+            boolean removed = false;
+            while (it.hasNext() && !removed) {
+                removed = Objects.equals(it.next().getValue(), pattern);
+            }
+            if (removed) {
+                it.remove();
+            }
+            return removed;
+        }
+
+        @Override
+        public boolean contains(V pattern) {
+            return containsValue(pattern);
+        }
+    }
 
     @Override
     public V get(Object key) {
@@ -35,6 +136,80 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
         return res;
     }
 
+    // the updater maps the entry of the key, or null, to the entry to keep; null removes it.
+    // the compute methods and merge are built on this, so a map finding the slot once overrides it
+    protected Entry<K, V> update(K key, UnaryOperator<Entry<K, V>> updater) {
+        Entry<K, V> entry = getEntry(key);
+        Entry<K, V> res = updater.apply(entry);
+        if (entry == null && res != null) {
+            set.add(res);
+        } else if (entry != null && res == null) {
+            set.remove(entry);
+        }
+        return res;
+    }
+
+    // the entry holding the value, null for a null value
+    private static <K, V> Entry<K, V> withValue(K key, Entry<K, V> entry, V value) {
+        Entry<K, V> res = null;
+        if (value != null) {
+            res = entry;
+            if (res == null) {
+                res = new Entry<>(key, value);
+            } else {
+                res.setValue(value);
+            }
+        }
+        return res;
+    }
+
+    private static <V> V valueOf(Entry<?, V> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return valueOf(update(key, entry -> withValue(key, entry, remappingFunction.apply(key, valueOf(entry)))));
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return valueOf(update(key, entry -> {
+            Entry<K, V> res = entry;
+            if (valueOf(entry) == null) {
+                V value = mappingFunction.apply(key);
+                if (value != null) {
+                    res = withValue(key, entry, value);
+                }
+            }
+            return res;
+        }));
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return valueOf(update(key, entry -> valueOf(entry) == null ? entry
+                : withValue(key, entry, remappingFunction.apply(key, entry.getValue()))));
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        return valueOf(update(key, entry -> withValue(key, entry,
+                valueOf(entry) == null ? value : remappingFunction.apply(entry.getValue(), value))));
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Entry<K, V> entry = getEntry(key);
+        V res = null;
+        if (entry != null) {
+            res = entry.getValue();
+            entry.setValue(value);
+        }
+        return res;
+    }
+
     @Override
     public boolean containsKey(Object key) {
         Entry<K, V> pattern = new Entry<>((K) key, null);
@@ -54,11 +229,7 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
 
     @Override
     public Set<K> keySet() {
-        Set<K> keySet = getEmptyKeySet();
-        for (Entry<K, V> entry : set) {
-            keySet.add(entry.getKey());
-        }
-        return keySet;
+        return new KeySet();
     }
 
     @Override
@@ -68,11 +239,18 @@ public abstract class AbstractMap<K, V> implements Map<K, V> {
 
     @Override
     public Collection<V> values() {
-        Collection<V> collection = new LinkedList<>();
-        for (Entry<K, V> entry : set) {
-            collection.add(entry.getValue());
-        }
-        return collection;
+        return new Values();
+    }
+
+    // passes the entries without an iterator
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        set.forEach(entry -> action.accept(entry.getKey(), entry.getValue()));
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        set.forEach(entry -> entry.setValue(function.apply(entry.getKey(), entry.getValue())));
     }
 
     @Override
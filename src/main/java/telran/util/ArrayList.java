@@ -4,6 +4,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public class ArrayList<T> implements List<T> {
@@ -19,8 +21,10 @@ public class ArrayList<T> implements List<T> {
         this(DEFAULT_CAPACITY);
     }
 
-    private void reallocate() {
-        array = Arrays.copyOf(array, array.length * 2);
+    private void ensureCapacity(int capacity) {
+        if (capacity > array.length) {
+            array = Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+        }
     }
 
     @Override
@@ -85,6 +89,61 @@ public class ArrayList<T> implements List<T> {
         };
     }
 
+    private class ArrayListSpliterator implements Spliterator<T> {
+        int index;
+        final int fence;
+
+        ArrayListSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            boolean res = index < fence;
+            if (res) {
+                action.accept((T) array[index++]);
+            }
+            return res;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            Object[] array = ArrayList.this.array;
+            while (index < fence) {
+                action.accept((T) array[index++]);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int middle = (index + fence) >>> 1;
+            ArrayListSpliterator res = null;
+            if (index < middle) {
+                res = new ArrayListSpliterator(index, middle);
+                index = middle;
+            }
+            return res;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArrayListSpliterator(0, size);
+    }
+
     @Override
     public boolean removeIf(Predicate<T> predicate) {
         boolean removed = false;
@@ -110,22 +169,34 @@ public class ArrayList<T> implements List<T> {
 
     @Override
     public boolean add(T obj) {
-        if (size == array.length) {
-            reallocate();
-        }
+        ensureCapacity(size + 1);
         array[size++] = obj;
         return true;
     }
 
+    // the array grows once for all the elements; another ArrayList is copied by one System.arraycopy
+    @Override
+    public boolean addAll(Collection<? extends T> other) {
+        int otherSize = other.size();
+        ensureCapacity(size + otherSize);
+        if (other instanceof ArrayList<? extends T> list) {
+            System.arraycopy(list.array, 0, array, size, otherSize);
+            size += otherSize;
+        } else {
+            for (T obj : other) {
+                add(obj);
+            }
+        }
+        return otherSize > 0;
+    }
+
     @Override
     public void add(int index, T obj) {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index not correct");
         }
 
-        if (size == array.length) {
-            reallocate();
-        }
+        ensureCapacity(size + 1);
         System.arraycopy(array, index, array, index + 1, size - index);
         array[index] = obj;
         size++;
@@ -1,6 +1,8 @@
 package telran.util;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -23,6 +25,39 @@ public interface Collection<T> extends Iterable<T> {
         removeIf(n -> true);
     }
 
+    default boolean addAll(Collection<? extends T> other) {
+        boolean res = false;
+        for (T obj : other) {
+            if (add(obj)) {
+                res = true;
+            }
+        }
+        return res;
+    }
+
+    default boolean removeAll(Collection<? super T> other) {
+        boolean res = !isEmpty();
+        if (other == this) {
+            clear();
+        } else {
+            res = removeIf(other::contains);
+        }
+        return res;
+    }
+
+    default boolean retainAll(Collection<? super T> other) {
+        return other != this && removeIf(obj -> !other.contains(obj));
+    }
+
+    default boolean containsAll(Collection<? extends T> other) {
+        Iterator<? extends T> it = other.iterator();
+        boolean res = true;
+        while (it.hasNext() && res) {
+            res = contains(it.next());
+        }
+        return res;
+    }
+
     boolean add(T obj);
 
     boolean remove(T pattern);
@@ -33,6 +68,11 @@ public interface Collection<T> extends Iterable<T> {
 
     boolean contains(T pattern);
 
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), 0);
+    }
+
     default Stream<T> stream() {
         return StreamSupport.stream(spliterator(), false);
     }
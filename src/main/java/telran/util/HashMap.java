@@ -1,14 +1,129 @@
 package telran.util;
 
+import java.util.ConcurrentModificationException;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+
+@SuppressWarnings("unchecked")
 public class HashMap<K, V> extends AbstractMap<K, V> {
+    private static final BiPredicate<Object, Object> KEY_EQUALS = (entry, key) -> ((Entry<?, ?>) entry).getKey()
+            .equals(key);
+    private final HashSet<Entry<K, V>> table;
+    // null for hashCode and equals of the keys
+    private final HashStrategy<? super K> keyStrategy;
+    private final BiPredicate<Object, Object> keyEquality;
 
-    @Override
-    protected Set<K> getEmptyKeySet() {
-        return new HashSet<>();
+    public HashMap(int hashTableLength, float factor, boolean incrementalResize, HashStrategy<? super K> keyStrategy) {
+        this(new HashSet<>(hashTableLength, factor, incrementalResize, entryStrategy(keyStrategy)), keyStrategy);
+    }
+
+    public HashMap(int hashTableLength, float factor, boolean incrementalResize) {
+        this(hashTableLength, factor, incrementalResize, null);
+    }
+
+    public HashMap(int hashTableLength, float factor) {
+        this(hashTableLength, factor, false);
+    }
+
+    public HashMap(HashStrategy<? super K> keyStrategy) {
+        this(new HashSet<>(entryStrategy(keyStrategy)), keyStrategy);
     }
 
     public HashMap() {
-        set = new HashSet<>();
+        this(new HashSet<>(), null);
+    }
+
+    private HashMap(HashSet<Entry<K, V>> table, HashStrategy<? super K> keyStrategy) {
+        this.table = table;
+        this.keyStrategy = keyStrategy;
+        keyEquality = keyStrategy == null ? KEY_EQUALS
+                : (entry, key) -> keyStrategy.equals(((Entry<K, V>) entry).getKey(), (K) key);
+        set = table;
+    }
+
+    // entries are hashed and compared by their keys
+    private static <K, V> HashStrategy<Entry<K, V>> entryStrategy(HashStrategy<? super K> keyStrategy) {
+        return keyStrategy == null ? null : new HashStrategy<>() {
+            @Override
+            public int hashCode(Entry<K, V> entry) {
+                return keyStrategy.hashCode(entry.getKey());
+            }
+
+            @Override
+            public boolean equals(Entry<K, V> entry1, Entry<K, V> entry2) {
+                return keyStrategy.equals(entry1.getKey(), entry2.getKey());
+            }
+        };
+    }
+
+    // entries hash by their keys, so a key has the hash of its entry
+    private int hash(Object key) {
+        return HashStrategy.mix(keyStrategy == null ? key.hashCode() : keyStrategy.hashCode((K) key));
+    }
+
+    private int getIndex(Object key) {
+        return table.getIndex(key, hash(key), keyEquality);
+    }
+
+    @Override
+    public V get(Object key) {
+        Entry<K, V> entry = table.elementAt(getIndex(key));
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int index = table.getIndex(key, hash, keyEquality);
+        Entry<K, V> entry = table.elementAt(index);
+        V res = null;
+        if (entry != null) {
+            res = entry.getValue();
+            entry.setValue(value);
+        } else {
+            table.addAt(index, new Entry<>(key, value), hash);
+        }
+        return res;
+    }
+
+    // the slot found for the key is where a new entry is added or the found one removed
+    @Override
+    protected Entry<K, V> update(K key, UnaryOperator<Entry<K, V>> updater) {
+        int hash = hash(key);
+        int index = table.getIndex(key, hash, keyEquality);
+        Entry<K, V> entry = table.elementAt(index);
+        int expectedModCount = table.modCount;
+        Entry<K, V> res = updater.apply(entry);
+        if (table.modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (entry == null && res != null) {
+            table.addAt(index, res, hash);
+        } else if (entry != null && res == null) {
+            table.removeAt(index);
+        }
+        return res;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return table.elementAt(getIndex(key)) != null;
+    }
+
+    @Override
+    public V remove(K key) {
+        int index = getIndex(key);
+        Entry<K, V> entry = table.elementAt(index);
+        V res = null;
+        if (entry != null) {
+            res = entry.getValue();
+            table.removeAt(index);
+        }
+        return res;
+    }
+
+    public HashTableStats stats() {
+        return table.stats();
     }
 
 }
@@ -1,128 +1,442 @@
 package telran.util;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 
 @SuppressWarnings("unchecked")
 public class HashSet<T> implements Set<T> {
     private static final int DEFAULT_HASH_TABLE_LENGTH = 16;
     private static final float DEFAULT_FACTOR = 0.75f;
-    List<T>[] hashTable;
+    private static final int MAX_HASH_TABLE_LENGTH = 1 << 30;
+    // old table slots moved to the new table by an operation during an incremental resize;
+    // a smaller step slows more operations and raises the p99.9 latency of the adds
+    private static final int MIGRATION_STEP = 16384;
+    static final BiPredicate<Object, Object> EQUALS = Object::equals;
+    Object[] hashTable;
+    int[] hashCodes;
     float factor;
     int size;
+    // structural changes, checked by a map against a function changing it
+    int modCount;
+    private int resizeCount;
+    private long resizeNanos;
+    private final boolean incrementalResize;
+    // null for hashCode and equals of the elements
+    private final HashStrategy<? super T> strategy;
+    private final BiPredicate<Object, Object> equality;
+    // the table an incremental resize empties into hashTable, null otherwise;
+    // migrated slots of it are passed from the empty slot migrationStart
+    Object[] oldTable;
+    int[] oldHashCodes;
+    private int migrationStart;
+    private int migrated;
 
+    // passes the table, then the old one; its removals don't migrate
     private class HashSetIterator implements Iterator<T> {
-        Iterator<T> currentIterator;
-        Iterator<T> prevIterator;
-        int indexIterator;
-        boolean hasNextElement;
-
-        public HashSetIterator() {
-            this.indexIterator = 0;
-            this.currentIterator = getCurrentIterator();
-            this.hasNextElement = (currentIterator != null && currentIterator.hasNext());
-        }
+        Object[] table = hashTable;
+        Object[] nextTable = oldTable;
+        int index;
+        int lastIndex = -1;
+        // returned elements that a removal shifted back past the table end
+        List<T> returnedAgain;
 
         @Override
         public boolean hasNext() {
-            return hasNextElement;
+            skipEmpty();
+            if (index == table.length && nextTable != null) {
+                table = nextTable;
+                nextTable = null;
+                index = 0;
+                skipEmpty();
+            }
+            return index < table.length;
+        }
+
+        private void skipEmpty() {
+            while (index < table.length && (table[index] == null || isReturnedAgain(index))) {
+                index++;
+            }
         }
 
         @Override
         public T next() {
-            if (!hasNextElement) {
+            if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            prevIterator = currentIterator;
-            T nextElement = currentIterator.next();
-            if (!currentIterator.hasNext()) {
-                currentIterator = getCurrentIterator();
-            }
-            hasNextElement = (currentIterator != null && currentIterator.hasNext());
-            return nextElement;
+            lastIndex = index++;
+            return (T) table[lastIndex];
         }
 
         @Override
         public void remove() {
-            if (prevIterator == null) {
+            if (lastIndex < 0) {
                 throw new IllegalStateException();
             }
+            T wrapped = removeAt(table == hashTable ? lastIndex : ~lastIndex, false);
+            if (wrapped != null) {
+                if (returnedAgain == null) {
+                    returnedAgain = new ArrayList<>(1);
+                }
+                returnedAgain.add(wrapped);
+            }
+            index = lastIndex;
+            lastIndex = -1;
+        }
+
+        // by identity, as distinct elements may be equal under the strategy
+        private boolean isReturnedAgain(int index) {
+            boolean res = false;
+            if (returnedAgain != null) {
+                int i = 0;
+                while (i < returnedAgain.size() && returnedAgain.get(i) != table[index]) {
+                    i++;
+                }
+                res = i < returnedAgain.size();
+                if (res) {
+                    returnedAgain.remove(i);
+                }
+            }
+            return res;
+        }
+    }
+
+    // splits the slots of both tables by ranges, so only the whole knows its exact size
+    private class HashSetSpliterator implements Spliterator<T> {
+        final Object[] table;
+        final Object[] oldTable;
+        int index;
+        final int fence;
+        int estimate;
+        boolean whole;
+
+        HashSetSpliterator(Object[] table, Object[] oldTable, int index, int fence, int estimate, boolean whole) {
+            this.table = table;
+            this.oldTable = oldTable;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.whole = whole;
+        }
 
-            prevIterator.remove();
-            prevIterator = null;
-            size--;
+        private Object slot(int index) {
+            return index < table.length ? table[index] : oldTable[index - table.length];
         }
 
-        private Iterator<T> getCurrentIterator() {
-            Iterator<T> iterator = null;
-            while (indexIterator < hashTable.length && iterator == null) {
-                List<T> bucket = hashTable[indexIterator++];
-                if (bucket != null && !bucket.isEmpty()) {
-                    iterator = bucket.iterator();
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (index < fence && slot(index) == null) {
+                index++;
+            }
+            boolean res = index < fence;
+            if (res) {
+                action.accept((T) slot(index++));
+            }
+            return res;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; index < fence; index++) {
+                Object obj = slot(index);
+                if (obj != null) {
+                    action.accept((T) obj);
                 }
             }
+        }
 
-            return iterator;
+        @Override
+        public Spliterator<T> trySplit() {
+            int middle = (index + fence) >>> 1;
+            HashSetSpliterator res = null;
+            if (index < middle) {
+                estimate >>>= 1;
+                whole = false;
+                res = new HashSetSpliterator(table, oldTable, index, middle, estimate, false);
+                index = middle;
+            }
+            return res;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (whole ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
         }
     }
 
-    public HashSet(int hashTableLength, float factor) {
-        hashTable = new List[hashTableLength];
+    // in the incremental resize mode the adds and removals move the full table to a new one
+    // in bounded steps, and lookups search both meanwhile
+    public HashSet(int hashTableLength, float factor, boolean incrementalResize, HashStrategy<? super T> strategy) {
+        if (hashTableLength < 0 || factor <= 0 || factor >= 1) {
+            throw new IllegalArgumentException();
+        }
+        int length = getTableLength(hashTableLength);
+        hashTable = new Object[length];
+        hashCodes = new int[length];
         this.factor = factor;
+        this.incrementalResize = incrementalResize;
+        this.strategy = strategy;
+        equality = strategy == null ? EQUALS : (element, pattern) -> strategy.equals((T) element, (T) pattern);
+    }
+
+    public HashSet(int hashTableLength, float factor, boolean incrementalResize) {
+        this(hashTableLength, factor, incrementalResize, null);
+    }
+
+    public HashSet(int hashTableLength, float factor) {
+        this(hashTableLength, factor, false);
+    }
+
+    public HashSet(HashStrategy<? super T> strategy) {
+        this(DEFAULT_HASH_TABLE_LENGTH, DEFAULT_FACTOR, false, strategy);
     }
 
     public HashSet() {
         this(DEFAULT_HASH_TABLE_LENGTH, DEFAULT_FACTOR);
     }
 
+    private static int getTableLength(int length) {
+        int res = 2;
+        while (res < length && res < MAX_HASH_TABLE_LENGTH) {
+            res <<= 1;
+        }
+        return res;
+    }
+
+    private int hashOf(Object obj) {
+        return HashStrategy.mix(strategy == null ? obj.hashCode() : strategy.hashCode((T) obj));
+    }
+
     @Override
     public boolean add(T obj) {
-        boolean res = false;
-        if (!contains(obj)) {
-            res = true;
-            if (size >= hashTable.length * factor) {
+        return addHashed(obj, hashOf(obj));
+    }
+
+    private boolean addHashed(T obj, int hash) {
+        int index = getIndex(obj, hash, equality);
+        boolean res = elementAt(index) == null;
+        if (res) {
+            addAt(index, obj, hash);
+        }
+        return res;
+    }
+
+    // index of the element matching the pattern or of the empty slot ending its probe sequence,
+    // complemented for an element of the old table; the equality gets the element and the pattern
+    int getIndex(Object pattern, int hash, BiPredicate<Object, Object> equality) {
+        int index = getIndex(hashTable, hashCodes, pattern, hash, equality);
+        if (hashTable[index] == null && oldTable != null) {
+            int oldIndex = getIndex(oldTable, oldHashCodes, pattern, hash, equality);
+            if (oldTable[oldIndex] != null) {
+                index = ~oldIndex;
+            }
+        }
+        return index;
+    }
+
+    private static int getIndex(Object[] table, int[] codes, Object pattern, int hash,
+            BiPredicate<Object, Object> equality) {
+        int mask = table.length - 1;
+        int index = hash & mask;
+        Object element;
+        while ((element = table[index]) != null && (codes[index] != hash || !equality.test(element, pattern))) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private int getFreeIndex(int hash) {
+        int mask = hashTable.length - 1;
+        int index = hash & mask;
+        while (hashTable[index] != null) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    T elementAt(int index) {
+        return (T) (index < 0 ? oldTable[~index] : hashTable[index]);
+    }
+
+    // the index must be the empty slot returned by getIndex for the absent element
+    void addAt(int index, T obj, int hash) {
+        if (oldTable != null) {
+            migrate(MIGRATION_STEP);
+            index = getFreeIndex(hash);
+        }
+        if (size >= hashTable.length * factor || size + 1 == hashTable.length) {
+            if (incrementalResize && hashTable.length < MAX_HASH_TABLE_LENGTH) {
+                startMigration();
+            } else {
                 hashTableReallocation();
             }
-            addObjInHashTable(obj, hashTable);
-            size++;
+            index = getFreeIndex(hash);
         }
-        return res;
+        hashTable[index] = obj;
+        hashCodes[index] = hash;
+        size++;
+        modCount++;
+    }
+
+    // the table is resized at most once for all the elements; another HashSet of the same strategy
+    // gives its cached hashes
+    @Override
+    public boolean addAll(Collection<? extends T> other) {
+        int oldSize = size;
+        if (other != this) {
+            ensureCapacity(size + other.size());
+            if (other instanceof HashSet<? extends T> set && set.strategy == strategy) {
+                addAllHashed(set.hashTable, set.hashCodes);
+                if (set.oldTable != null) {
+                    addAllHashed(set.oldTable, set.oldHashCodes);
+                }
+            } else {
+                for (T obj : other) {
+                    add(obj);
+                }
+            }
+        }
+        return size > oldSize;
     }
 
-    private void addObjInHashTable(T obj, List<T>[] table) {
-        int index = getIndex(obj, table.length);
-        List<T> list = table[index];
-        if (list == null) {
-            list = new ArrayList<>(3);
-            table[index] = list;
+    private void addAllHashed(Object[] table, int[] codes) {
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                addHashed((T) table[i], codes[i]);
+            }
         }
-        list.add(obj);
     }
 
-    private int getIndex(T obj, int length) {
-        int hashCode = obj.hashCode();
-        return Math.abs(hashCode % length);
+    // grows the table so that capacity elements fit in it without another reallocation;
+    // in the incremental resize mode the table grows by migrations instead
+    private void ensureCapacity(int capacity) {
+        int length = hashTable.length;
+        while (!incrementalResize && length < MAX_HASH_TABLE_LENGTH
+                && (capacity > length * factor || capacity + 1 >= length)) {
+            length <<= 1;
+        }
+        if (length > hashTable.length) {
+            hashTableReallocation(length);
+        }
     }
 
     private void hashTableReallocation() {
-        List<T>[] tempTable = new List[hashTable.length * 2];
-        for (List<T> list : hashTable) {
-            if (list != null) {
-                list.forEach(obj -> addObjInHashTable(obj, tempTable));
-                list.clear();
+        hashTableReallocation(hashTable.length * 2);
+    }
+
+    private void hashTableReallocation(int length) {
+        long start = System.nanoTime();
+        Object[] oldTable = hashTable;
+        int[] oldHashCodes = hashCodes;
+        hashTable = new Object[length];
+        hashCodes = new int[length];
+        for (int i = 0; i < oldTable.length; i++) {
+            if (oldTable[i] != null) {
+                int index = getFreeIndex(oldHashCodes[i]);
+                hashTable[index] = oldTable[i];
+                hashCodes[index] = oldHashCodes[i];
             }
         }
-        hashTable = tempTable;
+        resizeCount++;
+        modCount++;
+        resizeNanos += System.nanoTime() - start;
+    }
+
+    // the table of double length becomes the new one and the current table is migrated to it later;
+    // the previous migration took fewer operations than the adds filling the table
+    private void startMigration() {
+        long start = System.nanoTime();
+        oldTable = hashTable;
+        oldHashCodes = hashCodes;
+        hashTable = new Object[oldTable.length * 2];
+        hashCodes = new int[hashTable.length];
+        migrationStart = 0;
+        while (oldTable[migrationStart] != null) {
+            migrationStart++;
+        }
+        migrated = 0;
+        resizeCount++;
+        resizeNanos += System.nanoTime() - start;
+    }
+
+    // moves whole clusters, so the probe sequences left in the old table stay unbroken
+    private void migrate(int nSlots) {
+        long start = System.nanoTime();
+        int mask = oldTable.length - 1;
+        int processed = 0;
+        boolean clusterEnd = true;
+        while (migrated < oldTable.length && (processed < nSlots || !clusterEnd)) {
+            int index = (migrationStart + migrated) & mask;
+            clusterEnd = oldTable[index] == null;
+            if (!clusterEnd) {
+                int newIndex = getFreeIndex(oldHashCodes[index]);
+                hashTable[newIndex] = oldTable[index];
+                hashCodes[newIndex] = oldHashCodes[index];
+                oldTable[index] = null;
+            }
+            migrated++;
+            processed++;
+        }
+        modCount++;
+        if (migrated == oldTable.length) {
+            oldTable = null;
+            oldHashCodes = null;
+        }
+        resizeNanos += System.nanoTime() - start;
+    }
+
+    T removeAt(int index) {
+        return removeAt(index, true);
+    }
+
+    // backward shift deletion; returns an element moved from the table start to its end
+    private T removeAt(int index, boolean migrating) {
+        T wrapped = index < 0 ? removeAt(oldTable, oldHashCodes, ~index) : removeAt(hashTable, hashCodes, index);
+        size--;
+        modCount++;
+        if (migrating && oldTable != null) {
+            migrate(MIGRATION_STEP);
+        }
+        return wrapped;
+    }
+
+    private static <T> T removeAt(Object[] table, int[] codes, int index) {
+        int mask = table.length - 1;
+        int hole = index;
+        int current = (index + 1) & mask;
+        T wrapped = null;
+        while (table[current] != null) {
+            int home = codes[current] & mask;
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                if (current < hole) {
+                    wrapped = (T) table[current];
+                }
+                table[hole] = table[current];
+                codes[hole] = codes[current];
+                hole = current;
+            }
+            current = (current + 1) & mask;
+        }
+        table[hole] = null;
+        codes[hole] = 0;
+        return wrapped;
     }
 
     @Override
     public boolean remove(T pattern) {
         boolean removed = false;
-        if (contains(pattern)) {
-            int index = getIndex(pattern, hashTable.length);
-            List<T> list = hashTable[index];
-            list.remove(pattern);
-            size--;
+        int index = getIndex(pattern, hashOf(pattern), equality);
+        if (elementAt(index) != null) {
+            removeAt(index);
             removed = true;
         }
         return removed;
@@ -140,9 +454,17 @@ public class HashSet<T> implements Set<T> {
 
     @Override
     public boolean contains(T pattern) {
-        int index = getIndex(pattern, hashTable.length);
-        List<T> list = hashTable[index];
-        return list != null && list.contains(pattern);
+        return elementAt(getIndex(pattern, hashOf(pattern), equality)) != null;
+    }
+
+    @Override
+    public void clear() {
+        oldTable = null;
+        oldHashCodes = null;
+        Arrays.fill(hashTable, null);
+        Arrays.fill(hashCodes, 0);
+        size = 0;
+        modCount++;
     }
 
     @Override
@@ -150,24 +472,67 @@ public class HashSet<T> implements Set<T> {
         return new HashSetIterator();
     }
 
+    // a walk over the table arrays, the old one of an incremental resize as well
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        forEach(hashTable, action);
+        if (oldTable != null) {
+            forEach(oldTable, action);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    private static <T> void forEach(Object[] table, Consumer<? super T> action) {
+        for (Object obj : table) {
+            if (obj != null) {
+                action.accept((T) obj);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        int fence = hashTable.length + (oldTable == null ? 0 : oldTable.length);
+        return new HashSetSpliterator(hashTable, oldTable, 0, fence, size, true);
+    }
+
     @Override
     public T get(Object pattern) {
-        T res = null;
-        int index = getIndex((T) pattern, hashTable.length);
-        List<T> list = hashTable[index];
-
-        if (list != null) {
-            int i = 0;
-            while (i < list.size() && res == null) {
-                T element = list.get(i);
-                if (element.equals(pattern)) {
-                    res = element;
+        return elementAt(getIndex(pattern, hashOf(pattern), equality));
+    }
+
+    // a pass over both tables; approximate while another thread changes the set
+    public HashTableStats stats() {
+        Object[][] tables = { hashTable, oldTable };
+        int[][] tablesCodes = { hashCodes, oldHashCodes };
+        int length = Math.min(tables[0].length, tablesCodes[0].length);
+        int maxLength = tables[1] == null ? length : Math.max(length, tables[1].length);
+        long[] histogram = new long[HashTableStats.histogramBucket(maxLength - 1) + 1];
+        int count = 0;
+        int maxProbeLength = 0;
+        long totalProbeLength = 0;
+        for (int t = 0; t < tables.length; t++) {
+            Object[] table = tables[t];
+            int[] codes = tablesCodes[t];
+            int tableLength = table == null || codes == null ? 0 : Math.min(table.length, codes.length);
+            int mask = tableLength - 1;
+            for (int i = 0; i < tableLength; i++) {
+                if (table[i] != null) {
+                    int probeLength = (i - (codes[i] & mask)) & mask;
+                    histogram[HashTableStats.histogramBucket(probeLength)]++;
+                    maxProbeLength = Math.max(maxProbeLength, probeLength);
+                    totalProbeLength += probeLength;
+                    count++;
                 }
-                i++;
             }
         }
-
-        return res;
+        return new HashTableStats(count, length, factor, maxProbeLength,
+                count == 0 ? 0 : (double) totalProbeLength / count,
+                Arrays.copyOf(histogram, HashTableStats.histogramBucket(maxProbeLength) + 1), resizeCount,
+                resizeNanos);
     }
 
 }
@@ -0,0 +1,130 @@
+package telran.util;
+
+import java.util.Arrays;
+
+// the hash code and the equivalence of the elements of a hash table, so that elements compared
+// by another definition of equality needn't be wrapped; equivalent elements must have equal hash codes.
+// the tables mix all the hash codes, so a strategy may return weak ones
+public interface HashStrategy<T> {
+    int hashCode(T obj);
+
+    boolean equals(T obj1, T obj2);
+
+    // the finalizer of MurmurHash3: every bit of the hash code affects every bit of the result
+    static int mix(int hashCode) {
+        int res = hashCode ^ (hashCode >>> 16);
+        res *= 0x85ebca6b;
+        res ^= res >>> 13;
+        res *= 0xc2b2ae35;
+        return res ^ (res >>> 16);
+    }
+
+    // hashCode and equals of the elements, the same as no strategy
+    static <T> HashStrategy<T> natural() {
+        return new HashStrategy<>() {
+            @Override
+            public int hashCode(T obj) {
+                return obj.hashCode();
+            }
+
+            @Override
+            public boolean equals(T obj1, T obj2) {
+                return obj1.equals(obj2);
+            }
+        };
+    }
+
+    static <T> HashStrategy<T> identity() {
+        return new HashStrategy<>() {
+            @Override
+            public int hashCode(T obj) {
+                return System.identityHashCode(obj);
+            }
+
+            @Override
+            public boolean equals(T obj1, T obj2) {
+                return obj1 == obj2;
+            }
+        };
+    }
+
+    // the elements of arrays of objects compared by their contents, nested arrays as well
+    static <T> HashStrategy<T[]> array() {
+        return new HashStrategy<>() {
+            @Override
+            public int hashCode(T[] obj) {
+                return Arrays.deepHashCode(obj);
+            }
+
+            @Override
+            public boolean equals(T[] obj1, T[] obj2) {
+                return Arrays.deepEquals(obj1, obj2);
+            }
+        };
+    }
+
+    HashStrategy<byte[]> BYTE_ARRAY = new HashStrategy<>() {
+        @Override
+        public int hashCode(byte[] obj) {
+            return Arrays.hashCode(obj);
+        }
+
+        @Override
+        public boolean equals(byte[] obj1, byte[] obj2) {
+            return Arrays.equals(obj1, obj2);
+        }
+    };
+
+    HashStrategy<char[]> CHAR_ARRAY = new HashStrategy<>() {
+        @Override
+        public int hashCode(char[] obj) {
+            return Arrays.hashCode(obj);
+        }
+
+        @Override
+        public boolean equals(char[] obj1, char[] obj2) {
+            return Arrays.equals(obj1, obj2);
+        }
+    };
+
+    HashStrategy<int[]> INT_ARRAY = new HashStrategy<>() {
+        @Override
+        public int hashCode(int[] obj) {
+            return Arrays.hashCode(obj);
+        }
+
+        @Override
+        public boolean equals(int[] obj1, int[] obj2) {
+            return Arrays.equals(obj1, obj2);
+        }
+    };
+
+    HashStrategy<long[]> LONG_ARRAY = new HashStrategy<>() {
+        @Override
+        public int hashCode(long[] obj) {
+            return Arrays.hashCode(obj);
+        }
+
+        @Override
+        public boolean equals(long[] obj1, long[] obj2) {
+            return Arrays.equals(obj1, obj2);
+        }
+    };
+
+    // the characters are compared as by equalsIgnoreCase, so the hash folds the case the same way
+    HashStrategy<String> CASE_INSENSITIVE = new HashStrategy<>() {
+        @Override
+        public int hashCode(String obj) {
+            int res = 0;
+            for (int i = 0; i < obj.length(); i++) {
+                res = 31 * res + Character.toLowerCase(Character.toUpperCase(obj.charAt(i)));
+            }
+            return res;
+        }
+
+        @Override
+        public boolean equals(String obj1, String obj2) {
+            return obj1.equalsIgnoreCase(obj2);
+        }
+    };
+}
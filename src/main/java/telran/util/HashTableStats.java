@@ -0,0 +1,27 @@
+package telran.util;
+
+import java.util.Arrays;
+
+// the health of an open addressing hash table; the probe length of an element is the distance
+// from its home slot to the slot it occupies, so long probes mean clustered or colliding hash codes.
+// Entry i of the histogram counts probe lengths from 2^(i-1) to 2^i - 1, entry 0 the elements at home
+public record HashTableStats(int size, int capacity, float maxLoadFactor, int maxProbeLength,
+        double averageProbeLength, long[] probeLengthHistogram, int resizeCount, long resizeNanos) {
+
+    static int histogramBucket(int probeLength) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(probeLength);
+    }
+
+    public double loadFactor() {
+        return capacity == 0 ? 0 : (double) size / capacity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "size=%d capacity=%d load=%.2f/%.2f maxProbe=%d avgProbe=%.2f histogram=%s resizes=%d resizeTime=%dms",
+                size, capacity, loadFactor(), maxLoadFactor, maxProbeLength, averageProbeLength,
+                Arrays.toString(probeLengthHistogram), resizeCount, resizeNanos / 1_000_000);
+    }
+
+}
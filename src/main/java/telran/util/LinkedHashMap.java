@@ -0,0 +1,31 @@
+package telran.util;
+
+// a hash map iterated in insertion order or, with access order, from the least recently used entry;
+// a capacity bound or an overridden removeEldest makes it a bounded LRU map
+public class LinkedHashMap<K, V> extends AbstractMap<K, V> {
+    private final int capacity;
+
+    public LinkedHashMap(boolean accessOrder, int capacity) {
+        set = new LinkedHashSet<>(accessOrder, capacity) {
+            @Override
+            protected boolean removeEldest(Entry<K, V> eldest) {
+                return LinkedHashMap.this.removeEldest(eldest);
+            }
+        };
+        this.capacity = capacity;
+    }
+
+    public LinkedHashMap(boolean accessOrder) {
+        this(accessOrder, Integer.MAX_VALUE);
+    }
+
+    public LinkedHashMap() {
+        this(false);
+    }
+
+    // called after each insertion of a new key with the first entry of the order; returning true removes it
+    protected boolean removeEldest(Entry<K, V> eldest) {
+        return size() > capacity;
+    }
+
+}
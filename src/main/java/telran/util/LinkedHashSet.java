@@ -6,16 +6,61 @@ import telran.util.LinkedList.Node;
 
 public class LinkedHashSet<T> implements Set<T> {
     private final LinkedList<T> list = new LinkedList<>();
-    HashMap<T, Node<T>> map = new HashMap<>();
+    HashMap<T, Node<T>> map;
+    // in access order get and add of an existing element move it to the end
+    private final boolean accessOrder;
+    private final int capacity;
+
+    public LinkedHashSet(boolean accessOrder, int capacity, HashStrategy<? super T> strategy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.accessOrder = accessOrder;
+        this.capacity = capacity;
+        map = new HashMap<>(strategy);
+    }
+
+    public LinkedHashSet(boolean accessOrder, int capacity) {
+        this(accessOrder, capacity, null);
+    }
+
+    public LinkedHashSet(HashStrategy<? super T> strategy) {
+        this(false, Integer.MAX_VALUE, strategy);
+    }
+
+    public LinkedHashSet(boolean accessOrder) {
+        this(accessOrder, Integer.MAX_VALUE);
+    }
+
+    public LinkedHashSet() {
+        this(false);
+    }
+
+    public boolean isAccessOrder() {
+        return accessOrder;
+    }
+
+    // called after each addition of a new element with the first element of the order;
+    // returning true removes it, so a subclass may change the eviction policy or observe the evicted elements
+    protected boolean removeEldest(T eldest) {
+        return size() > capacity;
+    }
 
     @Override
     public boolean add(T obj) {
         boolean res = false;
-        if (!contains(obj)) {
-            Node<T> node = new Node<>(obj);
+        Node<T> node = map.get(obj);
+        if (node == null) {
+            node = new Node<>(obj);
             list.addNode(node, list.size());
             map.put(obj, node);
             res = true;
+            T eldest = list.head.obj;
+            if (removeEldest(eldest)) {
+                remove(eldest);
+            }
+        } else if (accessOrder) {
+            list.moveToTail(node);
         }
         return res;
     }
@@ -23,7 +68,14 @@ public class LinkedHashSet<T> implements Set<T> {
     @Override
     public T get(Object pattern) {
         Node<T> node = map.get(pattern);
-        return (node != null) ? node.obj : null;
+        T res = null;
+        if (node != null) {
+            res = node.obj;
+            if (accessOrder) {
+                list.moveToTail(node);
+            }
+        }
+        return res;
     }
 
     @Override
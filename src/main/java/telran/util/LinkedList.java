@@ -3,6 +3,9 @@ package telran.util;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 public class LinkedList<T> implements List<T> {
 
@@ -49,6 +52,64 @@ public class LinkedList<T> implements List<T> {
         }
     }
 
+    // nodes cannot be split in the middle, so prefixes of growing length are copied into arrays
+    private class LinkedListSpliterator implements Spliterator<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+        Node<T> current = head;
+        int remaining = size;
+        int batch;
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            boolean res = remaining > 0;
+            if (res) {
+                T obj = current.obj;
+                current = current.next;
+                remaining--;
+                action.accept(obj);
+            }
+            return res;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (remaining > 0) {
+                T obj = current.obj;
+                current = current.next;
+                remaining--;
+                action.accept(obj);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> res = null;
+            if (remaining > 1) {
+                int length = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+                Object[] array = new Object[length];
+                for (int i = 0; i < length; i++) {
+                    array[i] = current.obj;
+                    current = current.next;
+                }
+                remaining -= length;
+                batch = length;
+                res = Spliterators.spliterator(array, Spliterator.ORDERED);
+            }
+            return res;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
     Node<T> head;
     Node<T> tail;
     int size = 0;
@@ -133,6 +194,11 @@ public class LinkedList<T> implements List<T> {
         return new LinkedListIterator();
     }
 
+    @Override
+    public Spliterator<T> spliterator() {
+        return new LinkedListSpliterator();
+    }
+
     @Override
     public void add(int index, T obj) {
         checkIndex(index, true);
@@ -149,6 +215,20 @@ public class LinkedList<T> implements List<T> {
         return res;
     }
 
+    // relinks the node as the last one without allocation
+    void moveToTail(Node<T> node) {
+        if (node != tail) {
+            if (node == head) {
+                removeHead();
+            } else {
+                removeMiddle(node);
+            }
+            node.next = null;
+            node.prev = null;
+            addTail(node);
+        }
+    }
+
     void removeNode(Node<T> node) {
         if (node == head) {
             removeHead();
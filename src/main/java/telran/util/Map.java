@@ -1,5 +1,10 @@
 package telran.util;
 
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 @SuppressWarnings("unchecked")
 public interface Map<K, V> {
     public static class Entry<K, V> implements Comparable<Entry<K, V>> {
@@ -61,6 +66,64 @@ public interface Map<K, V> {
         return valueToCheck;
     }
 
+    // in the compute methods and merge a null value means no mapping; the defaults look the key up twice
+    default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V oldValue = get(key);
+        V res = remappingFunction.apply(key, oldValue);
+        if (res != null) {
+            put(key, res);
+        } else if (oldValue != null) {
+            remove(key);
+        }
+        return res;
+    }
+
+    default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V res = get(key);
+        if (res == null) {
+            res = mappingFunction.apply(key);
+            if (res != null) {
+                put(key, res);
+            }
+        }
+        return res;
+    }
+
+    default V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V res = get(key);
+        if (res != null) {
+            res = remappingFunction.apply(key, res);
+            if (res != null) {
+                put(key, res);
+            } else {
+                remove(key);
+            }
+        }
+        return res;
+    }
+
+    // the value for an absent key, otherwise the function of the old value and the given one
+    default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        V oldValue = get(key);
+        V res = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+        if (res != null) {
+            put(key, res);
+        } else {
+            remove(key);
+        }
+        return res;
+    }
+
+    // sets the value of a present key only; returns the previous value
+    default V replace(K key, V value) {
+        V res = null;
+        if (containsKey(key)) {
+            res = put(key, value);
+        }
+        return res;
+    }
+
     boolean containsKey(Object key);
 
     boolean containsValue(Object value);
@@ -71,6 +134,19 @@ public interface Map<K, V> {
 
     Collection<V> values();
 
+    default void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Entry<K, V> entry : entrySet()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // the default puts the new values, as the entries of a map may be copies
+    default void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        for (Entry<K, V> entry : entrySet()) {
+            put(entry.getKey(), function.apply(entry.getKey(), entry.getValue()));
+        }
+    }
+
     int size();
 
     boolean isEmpty();
@@ -1,5 +1,7 @@
 package telran.util;
 
+import java.util.Iterator;
+
 public interface SortedSet<T> extends Set<T> {
     T first();
 
@@ -11,4 +13,30 @@ public interface SortedSet<T> extends Set<T> {
 
     SortedSet<T> subSet(T keyFrom, T keyTo);
 
+    SortedSet<T> headSet(T keyTo);
+
+    SortedSet<T> tailSet(T keyFrom);
+
+    // number of elements less than the key
+    default int rank(T key) {
+        return headSet(key).size();
+    }
+
+    // element with the given number of lesser elements
+    default T select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Iterator<T> iterator = iterator();
+        for (int i = 0; i < index; i++) {
+            iterator.next();
+        }
+        return iterator.next();
+    }
+
+    // number of elements from keyFrom inclusive to keyTo exclusive
+    default int countInRange(T keyFrom, T keyTo) {
+        return subSet(keyFrom, keyTo).size();
+    }
+
 }
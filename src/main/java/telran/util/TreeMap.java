@@ -1,14 +1,26 @@
 package telran.util;
 
+import java.util.Comparator;
+import java.util.function.UnaryOperator;
+
 public class TreeMap<K, V> extends AbstractMap<K, V> {
 
-    @Override
-    protected Set<K> getEmptyKeySet() {
-        return new TreeSet<>();
+    public TreeMap() {
+        set = new TreeSet<>(true);
     }
 
-    public TreeMap() {
-        set = new TreeSet<>();
+    // a map of the entries given in ascending order of their keys, built balanced in linear time
+    public static <K, V> TreeMap<K, V> fromSorted(Iterable<? extends Entry<K, V>> entries) {
+        TreeMap<K, V> res = new TreeMap<>();
+        res.set = TreeSet.fromSorted(entries, Comparator.naturalOrder(), true);
+        return res;
+    }
+
+    // one descent of the tree finds the entry or the place for a new one
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Entry<K, V> update(K key, UnaryOperator<Entry<K, V>> updater) {
+        return ((TreeSet<Entry<K, V>>) set).update(new Entry<>(key, null), updater);
     }
 
 }
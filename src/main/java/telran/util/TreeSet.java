@@ -1,8 +1,13 @@
 package telran.util;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 @SuppressWarnings("unchecked")
 public class TreeSet<T> implements SortedSet<T> {
@@ -12,24 +17,48 @@ public class TreeSet<T> implements SortedSet<T> {
         Node<T> parent;
         Node<T> left;
         Node<T> right;
+        boolean red;
+        int count = 1;
 
         Node(T obj) {
             this.obj = obj;
         }
     }
 
+    // which elements a merge of two trees keeps: those only in this tree, in both, only in the other
+    private enum Merge {
+        UNION(true, true, true), DIFFERENCE(true, false, false), INTERSECTION(false, true, false);
+
+        final boolean keepOnlyThis;
+        final boolean keepCommon;
+        final boolean keepOnlyOther;
+
+        Merge(boolean keepOnlyThis, boolean keepCommon, boolean keepOnlyOther) {
+            this.keepOnlyThis = keepOnlyThis;
+            this.keepCommon = keepCommon;
+            this.keepOnlyOther = keepOnlyOther;
+        }
+    }
+
     private class TreeSetIterator implements Iterator<T> {
         Node<T> current;
         Node<T> last;
+        T keyTo;
 
         public TreeSetIterator() {
-            this.current = getLeastFrom(root);
+            this(getLeastFrom(root), null);
+        }
+
+        // iterates up to the keyTo exclusive, null keyTo means no upper bound
+        TreeSetIterator(Node<T> first, T keyTo) {
+            this.current = first;
             this.last = null;
+            this.keyTo = keyTo;
         }
 
         @Override
         public boolean hasNext() {
-            return current != null;
+            return current != null && (keyTo == null || comparator.compare(current.obj, keyTo) < 0);
         }
 
         @Override
@@ -53,6 +82,88 @@ public class TreeSet<T> implements SortedSet<T> {
 
     }
 
+    // splits at the root first and then at the subtrees between the current node and the fence
+    private class TreeSetSpliterator implements Spliterator<T> {
+        Node<T> current;
+        final Node<T> fence;
+        // 0 - whole tree, 1 - right part of a split, -1 - left part of a split
+        int side;
+        int estimate = -1;
+
+        TreeSetSpliterator(Node<T> current, Node<T> fence, int side) {
+            this.current = current;
+            this.fence = fence;
+            this.side = side;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            boolean res = current != null && current != fence;
+            if (res) {
+                T obj = current.obj;
+                current = getNextCurrent(current);
+                if (estimate > 0) {
+                    estimate--;
+                }
+                action.accept(obj);
+            }
+            return res;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (current != null && current != fence) {
+                T obj = current.obj;
+                current = getNextCurrent(current);
+                action.accept(obj);
+            }
+            estimate = 0;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Node<T> splitNode = null;
+            if (current != null && current != fence) {
+                if (side == 0) {
+                    splitNode = root;
+                } else if (side > 0) {
+                    splitNode = current.right;
+                } else if (fence != null) {
+                    splitNode = fence.left;
+                }
+            }
+            TreeSetSpliterator res = null;
+            if (splitNode != null && splitNode != current && splitNode != fence
+                    && comparator.compare(current.obj, splitNode.obj) < 0) {
+                side = 1;
+                res = new TreeSetSpliterator(current, splitNode, -1);
+                current = splitNode;
+                estimate = -1;
+            }
+            return res;
+        }
+
+        @Override
+        public long estimateSize() {
+            if (estimate < 0) {
+                int rankTo = fence == null ? size : rank(fence.obj);
+                estimate = current == null ? 0 : rankTo - rank(current.obj);
+            }
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.ORDERED | Spliterator.SIZED
+                    | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return comparator == Comparator.naturalOrder() ? null : comparator;
+        }
+    }
+
     private Node<T> getNextCurrent(Node<T> node) {
         return node.right != null ? getLeastFrom(node.right) : getGreaterParent(node);
     }
@@ -77,16 +188,32 @@ public class TreeSet<T> implements SortedSet<T> {
 
     private Node<T> root;
     private Comparator<T> comparator;
+    private final boolean selfBalancing;
     int size;
+    // structural changes, checked by update against an updater changing the tree
+    int modCount;
     private String printingSymbol = " ";
     private int symbolsPerLevel = 2;
 
-    public TreeSet(Comparator<T> comparator) {
+    public TreeSet(Comparator<T> comparator, boolean selfBalancing) {
         this.comparator = comparator;
+        this.selfBalancing = selfBalancing;
+    }
+
+    public TreeSet(Comparator<T> comparator) {
+        this(comparator, false);
+    }
+
+    public TreeSet(boolean selfBalancing) {
+        this((Comparator<T>) Comparator.naturalOrder(), selfBalancing);
     }
 
     public TreeSet() {
-        this((Comparator<T>) Comparator.naturalOrder());
+        this(false);
+    }
+
+    public boolean isSelfBalancing() {
+        return selfBalancing;
     }
 
     public void setPrintingSymbol(String printingSymbol) {
@@ -99,22 +226,160 @@ public class TreeSet<T> implements SortedSet<T> {
 
     @Override
     public boolean add(T obj) {
-        boolean res = false;
-        if (!contains(obj)) {
+        Node<T> parent = getParentOrNode(obj);
+        boolean res = parent == null || comparator.compare(obj, parent.obj) != 0;
+        if (res) {
+            addNode(parent, obj);
+        }
+        return res;
+    }
+
+    // one descent to the pattern or to its place; the updater maps the found element, or null,
+    // to the element to keep there, null removing it, and mustn't change the tree
+    T update(T pattern, UnaryOperator<T> updater) {
+        Node<T> parent = getParentOrNode(pattern);
+        Node<T> node = parent != null && comparator.compare(pattern, parent.obj) == 0 ? parent : null;
+        int expectedModCount = modCount;
+        T res = updater.apply(node == null ? null : node.obj);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (node == null && res != null) {
+            addNode(parent, res);
+        } else if (node != null && res == null) {
+            removeNode(node);
+        } else if (node != null) {
+            node.obj = res;
+        }
+        return res;
+    }
+
+    private void addNode(Node<T> parent, T obj) {
+        Node<T> node = new Node<>(obj);
+        if (parent == null) {
+            addRoot(node);
+        } else {
+            addAfterParent(node, parent);
+            updateCounts(parent, 1);
+        }
+        if (selfBalancing) {
+            fixAfterInsertion(node);
+        }
+        size++;
+        modCount++;
+    }
+
+    // sorted input without duplicates, and another tree with the same order in particular,
+    // is merged in one pass and rebuilt balanced instead of being added element by element
+    @Override
+    public boolean addAll(Collection<? extends T> other) {
+        int otherSize = other.size();
+        return other != this && isMergeCheaper(otherSize, otherSize, size + otherSize) && isSorted(other)
+                ? merge(other.iterator(), otherSize, Merge.UNION)
+                : SortedSet.super.addAll(other);
+    }
+
+    @Override
+    public boolean removeAll(Collection<? super T> other) {
+        return isSameOrderTree(other) && isMergeCheaper(other.size(), size, other.size())
+                ? merge(((TreeSet<T>) other).iterator(), other.size(), Merge.DIFFERENCE)
+                : SortedSet.super.removeAll(other);
+    }
+
+    @Override
+    public boolean retainAll(Collection<? super T> other) {
+        return isSameOrderTree(other) && isMergeCheaper(other.size(), size, other.size())
+                ? merge(((TreeSet<T>) other).iterator(), other.size(), Merge.INTERSECTION)
+                : SortedSet.super.retainAll(other);
+    }
+
+    private boolean isSameOrderTree(Collection<?> other) {
+        return other instanceof TreeSet<?> set && set != this && comparator.equals(set.comparator);
+    }
+
+    private boolean isSorted(Collection<? extends T> other) {
+        boolean res = isSameOrderTree(other);
+        if (!res) {
+            Iterator<? extends T> it = other.iterator();
+            T prev = it.hasNext() ? it.next() : null;
             res = true;
-            Node<T> node = new Node<>(obj);
-            if (root == null) {
-                addRoot(node);
+            while (it.hasNext() && res) {
+                T obj = it.next();
+                res = comparator.compare(prev, obj) < 0;
+                prev = obj;
+            }
+        }
+        return res;
+    }
+
+    // a merge passes over both sets once, while the lookups one by one descend a tree of treeSize elements
+    private boolean isMergeCheaper(int otherSize, int lookups, int treeSize) {
+        return size + (long) otherSize <= (long) lookups * (Integer.SIZE - Integer.numberOfLeadingZeros(treeSize));
+    }
+
+    private boolean merge(Iterator<? extends T> otherIt, int otherSize, Merge merge) {
+        Node<T>[] nodes = new Node[merge.keepOnlyOther ? size + otherSize : size];
+        int nNodes = 0;
+        Node<T> current = getLeastFrom(root);
+        T otherObj = otherIt.hasNext() ? otherIt.next() : null;
+        while (current != null || otherObj != null && merge.keepOnlyOther) {
+            int compRes = current == null ? 1 : otherObj == null ? -1 : comparator.compare(current.obj, otherObj);
+            if (compRes < 0) {
+                if (merge.keepOnlyThis) {
+                    nodes[nNodes++] = current;
+                }
+                current = getNextCurrent(current);
             } else {
-                addAfterParent(node);
+                if (compRes > 0 && merge.keepOnlyOther) {
+                    nodes[nNodes++] = new Node<>(otherObj);
+                } else if (compRes == 0) {
+                    if (merge.keepCommon) {
+                        nodes[nNodes++] = current;
+                    }
+                    current = getNextCurrent(current);
+                }
+                otherObj = otherIt.hasNext() ? otherIt.next() : null;
             }
-            size++;
+        }
+        boolean res = nNodes != size;
+        if (res) {
+            build(nodes, nNodes);
         }
         return res;
     }
 
-    private void addAfterParent(Node<T> node) {
-        Node<T> parent = getParent(node.obj);
+    // a set of the elements given in ascending order, built balanced in linear time;
+    // equal neighbors are taken once, and an element less than its predecessor is an error
+    public static <T> TreeSet<T> fromSorted(Iterable<? extends T> elements, Comparator<T> comparator,
+            boolean selfBalancing) {
+        TreeSet<T> res = new TreeSet<>(comparator, selfBalancing);
+        Node<T>[] nodes = new Node[16];
+        int nNodes = 0;
+        for (T obj : elements) {
+            int compRes = nNodes == 0 ? 1 : comparator.compare(obj, nodes[nNodes - 1].obj);
+            if (compRes < 0) {
+                throw new IllegalArgumentException("elements aren't sorted");
+            }
+            if (compRes > 0) {
+                if (nNodes == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nNodes * 2);
+                }
+                nodes[nNodes++] = new Node<>(obj);
+            }
+        }
+        res.build(nodes, nNodes);
+        return res;
+    }
+
+    public static <T> TreeSet<T> fromSorted(Iterable<? extends T> elements, Comparator<T> comparator) {
+        return fromSorted(elements, comparator, false);
+    }
+
+    public static <T> TreeSet<T> fromSorted(Iterable<? extends T> elements) {
+        return fromSorted(elements, (Comparator<T>) Comparator.naturalOrder());
+    }
+
+    private void addAfterParent(Node<T> node, Node<T> parent) {
         if (comparator.compare(node.obj, parent.obj) > 0) {
             parent.right = node;
         } else {
@@ -145,6 +410,7 @@ public class TreeSet<T> implements SortedSet<T> {
             removeJunction(node);
         }
         size--;
+        modCount++;
     }
 
     private void removeJunction(Node<T> node) {
@@ -155,6 +421,14 @@ public class TreeSet<T> implements SortedSet<T> {
 
     private void removeNonJunction(Node<T> node) {
         Node<T> child = (node.left != null) ? node.left : node.right;
+        if (selfBalancing && !node.red) {
+            if (child != null) {
+                child.red = false;
+            } else {
+                fixAfterDeletion(node);
+            }
+        }
+        updateCounts(node.parent, -1);
 
         if (node.parent == null) {
             root = child;
@@ -171,6 +445,162 @@ public class TreeSet<T> implements SortedSet<T> {
         setNulls(node);
     }
 
+    private void updateCounts(Node<T> node, int delta) {
+        while (node != null) {
+            node.count += delta;
+            node = node.parent;
+        }
+    }
+
+    private static int count(Node<?> node) {
+        return node == null ? 0 : node.count;
+    }
+
+    private static void setCount(Node<?> node) {
+        node.count = count(node.left) + count(node.right) + 1;
+    }
+
+    private boolean isRed(Node<T> node) {
+        return node != null && node.red;
+    }
+
+    private void rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        if (right.left != null) {
+            right.left.parent = node;
+        }
+        replaceChild(node, right);
+        right.left = node;
+        node.parent = right;
+        right.count = node.count;
+        setCount(node);
+    }
+
+    private void rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        if (left.right != null) {
+            left.right.parent = node;
+        }
+        replaceChild(node, left);
+        left.right = node;
+        node.parent = left;
+        left.count = node.count;
+        setCount(node);
+    }
+
+    private void replaceChild(Node<T> node, Node<T> newNode) {
+        Node<T> parent = node.parent;
+        newNode.parent = parent;
+        if (parent == null) {
+            root = newNode;
+        } else if (node == parent.left) {
+            parent.left = newNode;
+        } else {
+            parent.right = newNode;
+        }
+    }
+
+    private void fixAfterInsertion(Node<T> node) {
+        node.red = true;
+        while (node != root && node.parent.red) {
+            Node<T> parent = node.parent;
+            Node<T> grandParent = parent.parent;
+            if (parent == grandParent.left) {
+                Node<T> uncle = grandParent.right;
+                if (isRed(uncle)) {
+                    parent.red = uncle.red = false;
+                    grandParent.red = true;
+                    node = grandParent;
+                } else {
+                    if (node == parent.right) {
+                        node = parent;
+                        rotateLeft(node);
+                        parent = node.parent;
+                    }
+                    parent.red = false;
+                    grandParent.red = true;
+                    rotateRight(grandParent);
+                }
+            } else {
+                Node<T> uncle = grandParent.left;
+                if (isRed(uncle)) {
+                    parent.red = uncle.red = false;
+                    grandParent.red = true;
+                    node = grandParent;
+                } else {
+                    if (node == parent.left) {
+                        node = parent;
+                        rotateRight(node);
+                        parent = node.parent;
+                    }
+                    parent.red = false;
+                    grandParent.red = true;
+                    rotateLeft(grandParent);
+                }
+            }
+        }
+        root.red = false;
+    }
+
+    // the black node is still linked, it is unlinked after restoring the black height
+    private void fixAfterDeletion(Node<T> node) {
+        while (node != root && !node.red) {
+            Node<T> parent = node.parent;
+            if (node == parent.left) {
+                Node<T> sibling = parent.right;
+                if (sibling.red) {
+                    sibling.red = false;
+                    parent.red = true;
+                    rotateLeft(parent);
+                    sibling = parent.right;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.right)) {
+                        sibling.left.red = false;
+                        sibling.red = true;
+                        rotateRight(sibling);
+                        sibling = parent.right;
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    sibling.right.red = false;
+                    rotateLeft(parent);
+                    node = root;
+                }
+            } else {
+                Node<T> sibling = parent.left;
+                if (sibling.red) {
+                    sibling.red = false;
+                    parent.red = true;
+                    rotateRight(parent);
+                    sibling = parent.left;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    node = parent;
+                } else {
+                    if (!isRed(sibling.left)) {
+                        sibling.right.red = false;
+                        sibling.red = true;
+                        rotateLeft(sibling);
+                        sibling = parent.left;
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    sibling.left.red = false;
+                    rotateRight(parent);
+                    node = root;
+                }
+            }
+        }
+        node.red = false;
+    }
+
     private void setNulls(Node<T> node) {
         node.obj = null;
         node.parent = node.left = node.right = null;
@@ -213,6 +643,24 @@ public class TreeSet<T> implements SortedSet<T> {
         return new TreeSetIterator();
     }
 
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        Node<T> node = getLeastFrom(root);
+        while (node != null) {
+            action.accept(node.obj);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            node = getNextCurrent(node);
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TreeSetSpliterator(getLeastFrom(root), null, 0);
+    }
+
     @Override
     public T get(Object pattern) {
         T result = (T) pattern;
@@ -240,12 +688,6 @@ public class TreeSet<T> implements SortedSet<T> {
         return res;
     }
 
-    private Node<T> getParent(T pattern) {
-        Node<T> res = getParentOrNode(pattern);
-        int compRes = comparator.compare(pattern, res.obj);
-        return compRes == 0 ? null : res;
-    }
-
     @Override
     public T first() {
         if (root == null) {
@@ -297,14 +739,17 @@ public class TreeSet<T> implements SortedSet<T> {
 
     @Override
     public SortedSet<T> subSet(T keyFrom, T keyTo) {
-        TreeSet<T> subSet = new TreeSet<>(comparator);
-        Node<T> current = ceilingNode(keyFrom);
+        return new SubSet(keyFrom, keyTo);
+    }
 
-        while (current != null && comparator.compare(current.obj, keyTo) < 0) {
-            subSet.add(current.obj);
-            current = getNextCurrent(current);
-        }
-        return subSet;
+    @Override
+    public SortedSet<T> headSet(T keyTo) {
+        return new SubSet(null, keyTo);
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T keyFrom) {
+        return new SubSet(keyFrom, null);
     }
 
     private Node<T> ceilingNode(T key) {
@@ -315,6 +760,229 @@ public class TreeSet<T> implements SortedSet<T> {
         return node;
     }
 
+    private Node<T> lowerNode(T key) {
+        Node<T> current = root;
+        Node<T> res = null;
+        while (current != null) {
+            if (comparator.compare(current.obj, key) < 0) {
+                res = current;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        return res;
+    }
+
+    // live view of the elements from keyFrom inclusive to keyTo exclusive, null key means no bound
+    private class SubSet implements SortedSet<T> {
+        final T keyFrom;
+        final T keyTo;
+
+        SubSet(T keyFrom, T keyTo) {
+            this.keyFrom = keyFrom;
+            this.keyTo = keyTo;
+        }
+
+        private boolean tooLow(T key) {
+            return keyFrom != null && comparator.compare(key, keyFrom) < 0;
+        }
+
+        private boolean tooHigh(T key) {
+            return keyTo != null && comparator.compare(key, keyTo) >= 0;
+        }
+
+        private boolean inRange(T key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        private Node<T> lowestNode() {
+            Node<T> node = keyFrom == null ? getLeastFrom(root) : ceilingNode(keyFrom);
+            return node == null || tooHigh(node.obj) ? null : node;
+        }
+
+        private Node<T> highestNode() {
+            Node<T> node = keyTo == null ? (root == null ? null : getGreatestFrom(root)) : lowerNode(keyTo);
+            return node == null || tooLow(node.obj) ? null : node;
+        }
+
+        @Override
+        public boolean add(T obj) {
+            if (!inRange(obj)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return TreeSet.this.add(obj);
+        }
+
+        @Override
+        public boolean remove(T pattern) {
+            return inRange(pattern) && TreeSet.this.remove(pattern);
+        }
+
+        private int rankFrom() {
+            return keyFrom == null ? 0 : TreeSet.this.rank(keyFrom);
+        }
+
+        private int rankTo() {
+            return keyTo == null ? size : TreeSet.this.rank(keyTo);
+        }
+
+        @Override
+        public int size() {
+            return Math.max(rankTo() - rankFrom(), 0);
+        }
+
+        @Override
+        public int rank(T key) {
+            int res = 0;
+            if (!tooLow(key)) {
+                res = (tooHigh(key) ? rankTo() : TreeSet.this.rank(key)) - rankFrom();
+            }
+            return res;
+        }
+
+        @Override
+        public T select(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return TreeSet.this.select(rankFrom() + index);
+        }
+
+        @Override
+        public int countInRange(T keyFrom, T keyTo) {
+            return subSet(keyFrom, keyTo).size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowestNode() == null;
+        }
+
+        @Override
+        public boolean contains(T pattern) {
+            return inRange(pattern) && TreeSet.this.contains(pattern);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new TreeSetIterator(lowestNode(), keyTo);
+        }
+
+        @Override
+        public T get(Object pattern) {
+            return inRange((T) pattern) ? TreeSet.this.get(pattern) : null;
+        }
+
+        @Override
+        public T first() {
+            Node<T> node = lowestNode();
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            return node.obj;
+        }
+
+        @Override
+        public T last() {
+            Node<T> node = highestNode();
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            return node.obj;
+        }
+
+        @Override
+        public T floor(T key) {
+            T res = null;
+            if (!tooLow(key)) {
+                if (tooHigh(key)) {
+                    Node<T> node = lowerNode(keyTo);
+                    res = node != null ? node.obj : null;
+                } else {
+                    res = TreeSet.this.floor(key);
+                }
+                if (res != null && tooLow(res)) {
+                    res = null;
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public T ceiling(T key) {
+            T res = null;
+            if (!tooHigh(key)) {
+                res = TreeSet.this.ceiling(tooLow(key) ? keyFrom : key);
+                if (res != null && tooHigh(res)) {
+                    res = null;
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public SortedSet<T> subSet(T keyFrom, T keyTo) {
+            return new SubSet(max(this.keyFrom, keyFrom), min(this.keyTo, keyTo));
+        }
+
+        @Override
+        public SortedSet<T> headSet(T keyTo) {
+            return new SubSet(keyFrom, min(this.keyTo, keyTo));
+        }
+
+        @Override
+        public SortedSet<T> tailSet(T keyFrom) {
+            return new SubSet(max(this.keyFrom, keyFrom), keyTo);
+        }
+
+        private T max(T bound, T key) {
+            return bound == null || comparator.compare(key, bound) > 0 ? key : bound;
+        }
+
+        private T min(T bound, T key) {
+            return bound == null || comparator.compare(key, bound) < 0 ? key : bound;
+        }
+    }
+
+    @Override
+    public int rank(T key) {
+        Node<T> current = root;
+        int res = 0;
+        while (current != null) {
+            if (comparator.compare(key, current.obj) > 0) {
+                res += count(current.left) + 1;
+                current = current.right;
+            } else {
+                current = current.left;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public T select(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<T> current = root;
+        int leftCount;
+        while (index != (leftCount = count(current.left))) {
+            if (index < leftCount) {
+                current = current.left;
+            } else {
+                index -= leftCount + 1;
+                current = current.right;
+            }
+        }
+        return current.obj;
+    }
+
+    @Override
+    public int countInRange(T keyFrom, T keyTo) {
+        return Math.max(rank(keyTo) - rank(keyFrom), 0);
+    }
+
     public void displayTreeRotated() {
         displayTreeRotated(root, 0);
     }
@@ -386,7 +1054,25 @@ public class TreeSet<T> implements SortedSet<T> {
 
     public void balance() {
         Node<T>[] nodes = getSortedNodesArray();
-        root = balanceArray(nodes, 0, nodes.length - 1, null);
+        build(nodes, nodes.length);
+    }
+
+    private void build(Node<T>[] nodes, int nNodes) {
+        size = nNodes;
+        modCount++;
+        root = balanceArray(nodes, 0, nNodes - 1, null);
+        if (selfBalancing) {
+            setBalancedColors(root, 0, height() - 1);
+        }
+    }
+
+    // only the nodes of the lowest level of a balanced tree may be red
+    private void setBalancedColors(Node<T> root, int level, int redLevel) {
+        if (root != null) {
+            root.red = level == redLevel && level > 0;
+            setBalancedColors(root.left, level + 1, redLevel);
+            setBalancedColors(root.right, level + 1, redLevel);
+        }
     }
 
     private Node<T> balanceArray(Node<T>[] array, int left, int right, Node<T> parent) {
@@ -397,6 +1083,7 @@ public class TreeSet<T> implements SortedSet<T> {
             root.parent = parent;
             root.left = balanceArray(array, left, middle - 1, root);
             root.right = balanceArray(array, middle + 1, right, root);
+            setCount(root);
         }
         return root;
     }
@@ -2,16 +2,21 @@ package telran.util;
 
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NavigableSet;
 import java.util.Objects;
 
 @SuppressWarnings("unchecked")
 public class TreeSetStandard<T> implements SortedSet<T> {
-    java.util.TreeSet<T> tree;
+    NavigableSet<T> tree;
     Comparator<T> comparator;
 
-    public TreeSetStandard(Comparator<T> comparator) {
+    private TreeSetStandard(NavigableSet<T> tree, Comparator<T> comparator) {
+        this.tree = tree;
         this.comparator = comparator;
-        tree = new java.util.TreeSet<>(comparator);
+    }
+
+    public TreeSetStandard(Comparator<T> comparator) {
+        this(new java.util.TreeSet<>(comparator), comparator);
     }
 
     public TreeSetStandard() {
@@ -81,9 +86,30 @@ public class TreeSetStandard<T> implements SortedSet<T> {
 
     @Override
     public SortedSet<T> subSet(T keyFrom, T keyTo) {
-        TreeSet<T> result = new TreeSet<>(comparator);
-        tree.subSet(keyFrom, keyTo).forEach(result::add);
-        return result;
+        return new TreeSetStandard<>(tree.subSet(keyFrom, true, keyTo, false), comparator);
+    }
+
+    @Override
+    public SortedSet<T> headSet(T keyTo) {
+        return new TreeSetStandard<>(tree.headSet(keyTo, false), comparator);
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T keyFrom) {
+        return new TreeSetStandard<>(tree.tailSet(keyFrom, true), comparator);
+    }
+
+    // java.util views reject keys out of their range, so the statistics are counted directly
+    @Override
+    public int rank(T key) {
+        return (int) tree.stream().takeWhile(obj -> comparator.compare(obj, key) < 0).count();
+    }
+
+    @Override
+    public int countInRange(T keyFrom, T keyTo) {
+        return (int) tree.stream()
+                .filter(obj -> comparator.compare(obj, keyFrom) >= 0 && comparator.compare(obj, keyTo) < 0)
+                .count();
     }
 
 }
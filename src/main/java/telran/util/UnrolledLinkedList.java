@@ -0,0 +1,354 @@
+package telran.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// a linked list of chunks, each holding an array of about sqrt(size) elements, and a directory of the chunks
+// in order searched by the indexes of their first elements; an update shifts O(sqrt(n)) elements and chunks
+@SuppressWarnings("unchecked")
+public class UnrolledLinkedList<T> implements List<T> {
+    private static final int MIN_CHUNK_CAPACITY = 16;
+    private static final int MIN_DIRECTORY_LENGTH = 16;
+
+    private static class Chunk {
+        Object[] elements;
+        int count;
+        Chunk prev;
+        Chunk next;
+        int position;
+        // index of the first element, valid for the chunks before validStarts
+        int start;
+
+        Chunk(int capacity) {
+            elements = new Object[capacity];
+        }
+    }
+
+    private class UnrolledLinkedListIterator implements Iterator<T> {
+        int index;
+        boolean flNext;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            flNext = true;
+            return get(index++);
+        }
+
+        @Override
+        public void remove() {
+            if (!flNext) {
+                throw new IllegalStateException();
+            }
+            UnrolledLinkedList.this.remove(--index);
+            flNext = false;
+        }
+    }
+
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+    private Chunk[] directory = new Chunk[MIN_DIRECTORY_LENGTH];
+    private int nChunks;
+    private int validStarts;
+    // the chunk of the last positional access, checked first
+    private Chunk finger;
+
+    // the chunk of the existing element at the index, with a valid start
+    private Chunk locate(int index) {
+        Chunk res = finger;
+        if (res == null || res.position >= validStarts || index < res.start || index >= res.start + res.count) {
+            Chunk lastValid = validStarts == 0 ? null : directory[validStarts - 1];
+            res = lastValid == null || index >= lastValid.start + lastValid.count ? extendStarts(index)
+                    : directory[searchStarts(index)];
+            finger = res;
+        }
+        return res;
+    }
+
+    // computes the starts following the valid ones up to the chunk of the index
+    private Chunk extendStarts(int index) {
+        Chunk chunk = validStarts == 0 ? null : directory[validStarts - 1];
+        int start = chunk == null ? 0 : chunk.start + chunk.count;
+        do {
+            chunk = directory[validStarts++];
+            chunk.start = start;
+            start += chunk.count;
+        } while (index >= start);
+        return chunk;
+    }
+
+    private int searchStarts(int index) {
+        int left = 0;
+        int right = validStarts - 1;
+        while (left < right) {
+            int middle = (left + right + 1) >>> 1;
+            if (directory[middle].start <= index) {
+                left = middle;
+            } else {
+                right = middle - 1;
+            }
+        }
+        return left;
+    }
+
+    // the starts of the chunks after the position change
+    private void invalidateStarts(int position) {
+        validStarts = Math.min(validStarts, position + 1);
+    }
+
+    private int newChunkCapacity() {
+        return Math.max(MIN_CHUNK_CAPACITY, Integer.highestOneBit((int) Math.sqrt(size)));
+    }
+
+    private Chunk addChunkAfter(Chunk chunk, int capacity) {
+        Chunk newChunk = new Chunk(capacity);
+        newChunk.prev = chunk;
+        if (chunk == null) {
+            newChunk.next = head;
+            head = newChunk;
+        } else {
+            newChunk.next = chunk.next;
+            chunk.next = newChunk;
+        }
+        if (newChunk.next == null) {
+            tail = newChunk;
+        } else {
+            newChunk.next.prev = newChunk;
+        }
+        int position = chunk == null ? 0 : chunk.position + 1;
+        if (nChunks == directory.length) {
+            directory = Arrays.copyOf(directory, nChunks * 2);
+        }
+        System.arraycopy(directory, position, directory, position + 1, nChunks - position);
+        directory[position] = newChunk;
+        nChunks++;
+        renumber(position);
+        validStarts = Math.min(validStarts, position);
+        return newChunk;
+    }
+
+    private void renumber(int position) {
+        for (int i = position; i < nChunks; i++) {
+            directory[i].position = i;
+        }
+    }
+
+    private void removeChunk(Chunk chunk) {
+        if (chunk.prev == null) {
+            head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+        int position = chunk.position;
+        System.arraycopy(directory, position + 1, directory, position, nChunks - position - 1);
+        directory[--nChunks] = null;
+        renumber(position);
+        validStarts = Math.min(validStarts, position);
+        finger = null;
+    }
+
+
+    // moves the upper half of a full chunk into a new chunk of the same capacity after it
+    private void split(Chunk chunk) {
+        Chunk newChunk = addChunkAfter(chunk, chunk.elements.length);
+        int half = chunk.count / 2;
+        int moved = chunk.count - half;
+        System.arraycopy(chunk.elements, half, newChunk.elements, 0, moved);
+        Arrays.fill(chunk.elements, half, chunk.count, null);
+        chunk.count = half;
+        newChunk.count = moved;
+    }
+
+    // takes the elements of the next chunk when both fit into the chunk at half of its capacity
+    private void mergeNext(Chunk chunk) {
+        Chunk next = chunk.next;
+        if (next != null && chunk.count + next.count <= chunk.elements.length / 2) {
+            System.arraycopy(next.elements, 0, chunk.elements, chunk.count, next.count);
+            chunk.count += next.count;
+            removeChunk(next);
+        }
+    }
+
+    @Override
+    public boolean add(T obj) {
+        add(size, obj);
+        return true;
+    }
+
+    @Override
+    public void add(int index, T obj) {
+        checkIndex(index, true);
+        Chunk chunk;
+        int offset;
+        if (index == size) {
+            if (tail == null || tail.count == tail.elements.length) {
+                addChunkAfter(tail, newChunkCapacity());
+            }
+            chunk = tail;
+            offset = chunk.count;
+        } else {
+            chunk = locate(index);
+            offset = index - chunk.start;
+            if (chunk.count == chunk.elements.length) {
+                int capacity = newChunkCapacity();
+                Chunk prev = chunk.prev;
+                if (chunk.elements.length < capacity) {
+                    // a small full chunk grows, so that the chunks keep up with sqrt(size)
+                    chunk.elements = Arrays.copyOf(chunk.elements, capacity);
+                } else if (offset == 0) {
+                    // the full chunk is kept full, and repeated insertions at one index fill the previous one
+                    chunk = prev != null && prev.count < prev.elements.length ? prev : addChunkAfter(prev, capacity);
+                    offset = chunk.count;
+                } else {
+                    split(chunk);
+                    if (offset > chunk.count) {
+                        offset -= chunk.count;
+                        chunk = chunk.next;
+                    }
+                }
+            }
+        }
+        System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.count - offset);
+        chunk.elements[offset] = obj;
+        chunk.count++;
+        size++;
+        invalidateStarts(chunk.position);
+    }
+
+    @Override
+    public T remove(int index) {
+        checkIndex(index, false);
+        Chunk chunk = locate(index);
+        int offset = index - chunk.start;
+        T res = (T) chunk.elements[offset];
+        System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.count - offset - 1);
+        chunk.elements[--chunk.count] = null;
+        size--;
+        invalidateStarts(chunk.position);
+        if (chunk.count == 0) {
+            removeChunk(chunk);
+        } else {
+            mergeNext(chunk);
+        }
+        return res;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, false);
+        Chunk chunk = locate(index);
+        return (T) chunk.elements[index - chunk.start];
+    }
+
+    @Override
+    public int indexOf(T pattern) {
+        int res = -1;
+        int start = 0;
+        Chunk chunk = head;
+        while (chunk != null && res < 0) {
+            int offset = 0;
+            while (offset < chunk.count && !Objects.equals(chunk.elements[offset], pattern)) {
+                offset++;
+            }
+            if (offset < chunk.count) {
+                res = start + offset;
+            }
+            start += chunk.count;
+            chunk = chunk.next;
+        }
+        return res;
+    }
+
+    @Override
+    public int lastIndexOf(T pattern) {
+        int res = -1;
+        int end = size;
+        Chunk chunk = tail;
+        while (chunk != null && res < 0) {
+            end -= chunk.count;
+            int offset = chunk.count - 1;
+            while (offset >= 0 && !Objects.equals(chunk.elements[offset], pattern)) {
+                offset--;
+            }
+            if (offset >= 0) {
+                res = end + offset;
+            }
+            chunk = chunk.prev;
+        }
+        return res;
+    }
+
+    // compacts every chunk in place and merges the thinned neighbors in one pass
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        int oldSize = size;
+        Chunk chunk = head;
+        while (chunk != null) {
+            Chunk next = chunk.next;
+            int newCount = 0;
+            for (int i = 0; i < chunk.count; i++) {
+                T element = (T) chunk.elements[i];
+                if (!predicate.test(element)) {
+                    chunk.elements[newCount++] = element;
+                }
+            }
+            Arrays.fill(chunk.elements, newCount, chunk.count, null);
+            size -= chunk.count - newCount;
+            chunk.count = newCount;
+            invalidateStarts(chunk.position);
+            if (newCount == 0) {
+                removeChunk(chunk);
+            } else if (chunk.prev != null) {
+                mergeNext(chunk.prev);
+            }
+            chunk = next;
+        }
+        finger = null;
+        return size < oldSize;
+    }
+
+    @Override
+    public void clear() {
+        head = tail = finger = null;
+        Arrays.fill(directory, 0, nChunks, null);
+        nChunks = 0;
+        validStarts = 0;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledLinkedListIterator();
+    }
+
+    int chunkCount() {
+        return nChunks;
+    }
+
+}
@@ -0,0 +1,200 @@
+package telran.util.cache;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Function;
+
+import telran.util.Collection;
+import telran.util.HashMap;
+import telran.util.LinkedHashSet;
+import telran.util.LinkedList;
+import telran.util.Set;
+
+// a cache keeping the total weight of its values within a maximum, the policy chooses the evicted keys;
+// null values aren't cached, and the cache isn't thread-safe
+public class BoundedCache<K, V> implements Cache<K, V> {
+    private static class Node<V> {
+        V value;
+        int weight;
+
+        Node(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final HashMap<K, Node<V>> data = new HashMap<>();
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final EvictionPolicy<K> policy;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long loadCount;
+    private long evictionCount;
+    private long evictionWeight;
+
+    public BoundedCache(long maximumWeight, Weigher<? super K, ? super V> weigher, EvictionPolicy<K> policy) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximum weight must not be negative");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = Objects.requireNonNull(weigher);
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    // bounded by the number of entries
+    public BoundedCache(long maximumSize, EvictionPolicy<K> policy) {
+        this(maximumSize, Weigher.singleton(), policy);
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long weight() {
+        return weight;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return getIfPresent((K) key);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        Node<V> node = data.get(key);
+        V res = null;
+        if (node == null) {
+            missCount++;
+        } else {
+            hitCount++;
+            policy.onAccess(key);
+            res = node.value;
+        }
+        return res;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V res = getIfPresent(key);
+        if (res == null) {
+            res = loader.apply(key);
+            loadCount++;
+            if (res != null) {
+                put(key, res);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+        int valueWeight = weigher.weigh(key, value);
+        if (valueWeight < 0) {
+            throw new IllegalArgumentException("negative weight");
+        }
+        Node<V> node = data.get(key);
+        V res = null;
+        if (node == null) {
+            data.put(key, new Node<>(value, valueWeight));
+            policy.onInsert(key);
+        } else {
+            res = node.value;
+            weight -= node.weight;
+            node.value = value;
+            node.weight = valueWeight;
+            policy.onAccess(key);
+        }
+        weight += valueWeight;
+        evict();
+        return res;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Node<V> node = data.get(key);
+        return node == null ? put(key, value) : node.value;
+    }
+
+    private void evict() {
+        while (weight > maximumWeight) {
+            K key = policy.evict();
+            Node<V> node = data.remove(key);
+            weight -= node.weight;
+            evictionCount++;
+            evictionWeight += node.weight;
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<V> node = data.remove(key);
+        V res = null;
+        if (node != null) {
+            policy.onRemove(key);
+            weight -= node.weight;
+            res = node.value;
+        }
+        return res;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Iterator<Entry<K, Node<V>>> it = data.entrySet().iterator();
+        boolean found = false;
+        while (it.hasNext() && !found) {
+            found = Objects.equals(it.next().getValue().value, value);
+        }
+        return found;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        // a copy, as a removal through the live key set of the data would bypass the weights and the policy
+        Set<K> res = new LinkedHashSet<>();
+        data.forEach((key, node) -> res.add(key));
+        return res;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> res = new LinkedHashSet<>();
+        for (Entry<K, Node<V>> entry : data.entrySet()) {
+            res.add(new Entry<>(entry.getKey(), entry.getValue().value));
+        }
+        return res;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> res = new LinkedList<>();
+        for (Entry<K, Node<V>> entry : data.entrySet()) {
+            res.add(entry.getValue().value);
+        }
+        return res;
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hitCount, missCount, loadCount, evictionCount, evictionWeight);
+    }
+
+}
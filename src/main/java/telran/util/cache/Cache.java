@@ -0,0 +1,16 @@
+package telran.util.cache;
+
+import java.util.function.Function;
+
+import telran.util.Map;
+
+// a bounded map in front of a slow source; get and the lookups below record hits and misses,
+// while containsKey checks presence without counting as an access
+public interface Cache<K, V> extends Map<K, V> {
+    V getIfPresent(K key);
+
+    // the cached value, or the value computed by the loader and cached unless it is null
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    CacheStats stats();
+}
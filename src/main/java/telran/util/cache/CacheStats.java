@@ -0,0 +1,14 @@
+package telran.util.cache;
+
+public record CacheStats(long hitCount, long missCount, long loadCount, long evictionCount, long evictionWeight) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+    }
+
+}
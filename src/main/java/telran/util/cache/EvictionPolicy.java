@@ -0,0 +1,13 @@
+package telran.util.cache;
+
+// decides which key a bounded cache evicts; the cache reports every insertion, access and removal of its keys
+public interface EvictionPolicy<K> {
+    void onInsert(K key);
+
+    void onAccess(K key);
+
+    void onRemove(K key);
+
+    // removes the key to evict from the policy and returns it; called only while the policy has keys
+    K evict();
+}
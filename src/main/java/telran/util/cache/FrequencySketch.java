@@ -0,0 +1,68 @@
+package telran.util.cache;
+
+// a count-min sketch of 4-bit counters estimating how often keys were seen recently;
+// after a sample of additions all counters are halved, so the estimates age
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = { 0x97CB3127, 0xB8E9D7C5, 0x9E3779B9, 0x7FEB352D };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    // each long holds 16 counters
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedSize) {
+        int length = Integer.highestOneBit(Math.max(16, Math.min(expectedSize, 1 << 24)) - 1) << 1;
+        table = new long[length / 4];
+        counterMask = table.length * 16 - 1;
+        sampleSize = 10 * length;
+    }
+
+    private int counterIndex(int hash, int depth) {
+        int h = (hash + SEEDS[depth]) * SEEDS[(depth + 1) % DEPTH];
+        return (h ^ (h >>> 15)) & counterMask;
+    }
+
+    private int count(int counterIndex) {
+        return (int) (table[counterIndex >>> 4] >>> ((counterIndex & 15) << 2)) & MAX_COUNT;
+    }
+
+    private static int hash(Object key) {
+        int hashCode = key.hashCode() * 0x9E3779B9;
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    int frequency(Object key) {
+        int hash = hash(key);
+        int res = MAX_COUNT;
+        for (int depth = 0; depth < DEPTH; depth++) {
+            res = Math.min(res, count(counterIndex(hash, depth)));
+        }
+        return res;
+    }
+
+    void increment(Object key) {
+        int hash = hash(key);
+        boolean incremented = false;
+        for (int depth = 0; depth < DEPTH; depth++) {
+            int counterIndex = counterIndex(hash, depth);
+            if (count(counterIndex) < MAX_COUNT) {
+                table[counterIndex >>> 4] += 1L << ((counterIndex & 15) << 2);
+                incremented = true;
+            }
+        }
+        if (incremented && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+}
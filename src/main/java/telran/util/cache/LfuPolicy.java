@@ -0,0 +1,66 @@
+package telran.util.cache;
+
+import telran.util.HashMap;
+import telran.util.LinkedHashSet;
+
+// evicts the least frequently used key, the earliest of equally used ones; all operations are O(1)
+public class LfuPolicy<K> implements EvictionPolicy<K> {
+    private final HashMap<K, Integer> frequencies = new HashMap<>();
+    // keys by their frequencies, a bucket exists while it isn't empty
+    private final HashMap<Integer, LinkedHashSet<K>> buckets = new HashMap<>();
+    // never above the least frequency, removals may leave it below
+    private int minFrequency;
+
+    private void addToBucket(K key, int frequency) {
+        LinkedHashSet<K> bucket = buckets.get(frequency);
+        if (bucket == null) {
+            bucket = new LinkedHashSet<>();
+            buckets.put(frequency, bucket);
+        }
+        bucket.add(key);
+    }
+
+    private void removeFromBucket(K key, int frequency) {
+        LinkedHashSet<K> bucket = buckets.get(frequency);
+        bucket.remove(key);
+        if (bucket.isEmpty()) {
+            buckets.remove(frequency);
+        }
+    }
+
+    @Override
+    public void onInsert(K key) {
+        frequencies.put(key, 1);
+        addToBucket(key, 1);
+        minFrequency = 1;
+    }
+
+    @Override
+    public void onAccess(K key) {
+        Integer frequency = frequencies.get(key);
+        if (frequency != null) {
+            removeFromBucket(key, frequency);
+            frequencies.put(key, frequency + 1);
+            addToBucket(key, frequency + 1);
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        Integer frequency = frequencies.remove(key);
+        if (frequency != null) {
+            removeFromBucket(key, frequency);
+        }
+    }
+
+    @Override
+    public K evict() {
+        while (!buckets.containsKey(minFrequency)) {
+            minFrequency++;
+        }
+        K res = buckets.get(minFrequency).iterator().next();
+        onRemove(res);
+        return res;
+    }
+
+}
@@ -0,0 +1,31 @@
+package telran.util.cache;
+
+import telran.util.LinkedHashSet;
+
+// evicts the least recently used key
+public class LruPolicy<K> implements EvictionPolicy<K> {
+    private final LinkedHashSet<K> keys = new LinkedHashSet<>(true);
+
+    @Override
+    public void onInsert(K key) {
+        keys.add(key);
+    }
+
+    @Override
+    public void onAccess(K key) {
+        keys.get(key);
+    }
+
+    @Override
+    public void onRemove(K key) {
+        keys.remove(key);
+    }
+
+    @Override
+    public K evict() {
+        K res = keys.iterator().next();
+        keys.remove(res);
+        return res;
+    }
+
+}
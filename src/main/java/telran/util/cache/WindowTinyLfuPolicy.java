@@ -0,0 +1,91 @@
+package telran.util.cache;
+
+import java.util.Iterator;
+
+import telran.util.LinkedHashSet;
+
+// W-TinyLFU: new keys enter a small LRU window, then a segmented LRU main area of probation and protected keys.
+// On eviction the newest key moved from the window competes with the eldest probation key,
+// and the one less frequent by the sketch is evicted, so a scan of one-off keys can't flush the popular ones
+public class WindowTinyLfuPolicy<K> implements EvictionPolicy<K> {
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+    private final LinkedHashSet<K> window = new LinkedHashSet<>(true);
+    private final LinkedHashSet<K> probation = new LinkedHashSet<>(true);
+    private final LinkedHashSet<K> protectedKeys = new LinkedHashSet<>(true);
+    private final FrequencySketch sketch;
+    // the last key moved from the window to probation and not accessed since
+    private K candidate;
+
+    // the expected size sizes the frequency sketch
+    public WindowTinyLfuPolicy(int expectedSize) {
+        sketch = new FrequencySketch(expectedSize);
+    }
+
+    int frequency(K key) {
+        return sketch.frequency(key);
+    }
+
+    private static <K> K removeEldest(LinkedHashSet<K> keys) {
+        Iterator<K> it = keys.iterator();
+        K res = it.next();
+        it.remove();
+        return res;
+    }
+
+    @Override
+    public void onInsert(K key) {
+        sketch.increment(key);
+        window.add(key);
+        int size = window.size() + probation.size() + protectedKeys.size();
+        if (window.size() > Math.max(1, size * WINDOW_PERCENT / 100)) {
+            candidate = removeEldest(window);
+            probation.add(candidate);
+        }
+    }
+
+    @Override
+    public void onAccess(K key) {
+        sketch.increment(key);
+        if (window.get(key) == null && protectedKeys.get(key) == null && probation.remove(key)) {
+            protectedKeys.add(key);
+            if (key.equals(candidate)) {
+                candidate = null;
+            }
+            int mainSize = probation.size() + protectedKeys.size();
+            if (protectedKeys.size() > Math.max(1, mainSize * PROTECTED_PERCENT / 100)) {
+                probation.add(removeEldest(protectedKeys));
+            }
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        if (!window.remove(key) && !probation.remove(key)) {
+            protectedKeys.remove(key);
+        }
+        if (key.equals(candidate)) {
+            candidate = null;
+        }
+    }
+
+    @Override
+    public K evict() {
+        K res;
+        if (!probation.isEmpty()) {
+            K victim = probation.iterator().next();
+            res = candidate != null && !candidate.equals(victim)
+                    && sketch.frequency(candidate) <= sketch.frequency(victim) ? candidate : victim;
+            probation.remove(res);
+        } else if (!protectedKeys.isEmpty()) {
+            res = removeEldest(protectedKeys);
+        } else {
+            res = removeEldest(window);
+        }
+        if (res.equals(candidate)) {
+            candidate = null;
+        }
+        return res;
+    }
+
+}
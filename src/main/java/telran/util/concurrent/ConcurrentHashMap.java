@@ -0,0 +1,577 @@
+package telran.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import telran.util.Collection;
+import telran.util.HashSet;
+import telran.util.LinkedList;
+import telran.util.Map;
+import telran.util.Set;
+
+// bins are read without locking; a write locks the first node of its bin only,
+// and threads meeting a resize help to move the bins to the next table
+@SuppressWarnings("unchecked")
+public class ConcurrentHashMap<K, V> implements Map<K, V> {
+    private static final int DEFAULT_TABLE_LENGTH = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIN_TRANSFER_STRIDE = 16;
+    private static final int RESIZE_STAMP_SHIFT = 16;
+    private static final int MAX_RESIZERS = (1 << RESIZE_STAMP_SHIFT) - 1;
+    private static final int MOVED = -1;
+    private static final int RESERVED = -2;
+    private static final int HASH_BITS = 0x7fffffff;
+    private static final int N_CPU = Runtime.getRuntime().availableProcessors();
+    private static final VarHandle BINS = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle SIZE_CTL;
+    private static final VarHandle TRANSFER_INDEX;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SIZE_CTL = lookup.findVarHandle(ConcurrentHashMap.class, "sizeCtl", int.class);
+            TRANSFER_INDEX = lookup.findVarHandle(ConcurrentHashMap.class, "transferIndex", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node<K, V>[] table;
+    private volatile Node<K, V>[] nextTable;
+    // the resize threshold, or the stamp of the table length and the number of resizing threads plus one
+    private volatile int sizeCtl;
+    // bins below this index are still to be claimed by the resizing threads
+    private volatile int transferIndex;
+    private final LongAdder count = new LongAdder();
+
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        Node<K, V> find(int hash, Object key) {
+            Node<K, V> node = this;
+            while (node != null && (node.hash != hash || !node.key.equals(key))) {
+                node = node.next;
+            }
+            return node;
+        }
+    }
+
+    // put at the head of a moved bin; the bin's nodes are in the next table
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+
+        @Override
+        Node<K, V> find(int hash, Object key) {
+            Node<K, V>[] tab = nextTable;
+            Node<K, V> node = binAt(tab, (tab.length - 1) & hash);
+            while (node instanceof ForwardingNode<K, V> forwarding) {
+                tab = forwarding.nextTable;
+                node = binAt(tab, (tab.length - 1) & hash);
+            }
+            return node == null ? null : node.find(hash, key);
+        }
+    }
+
+    // holds an empty bin while compute runs its function
+    static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+
+        @Override
+        Node<K, V> find(int hash, Object key) {
+            return null;
+        }
+    }
+
+    private class MapEntry extends Entry<K, V> {
+        MapEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public void setValue(V value) {
+            super.setValue(value);
+            put(getKey(), value);
+        }
+    }
+
+    public ConcurrentHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        createTable(getTableLength(initialCapacity + (initialCapacity >>> 1) + 1));
+    }
+
+    public ConcurrentHashMap() {
+        createTable(DEFAULT_TABLE_LENGTH);
+    }
+
+    private void createTable(int length) {
+        table = (Node<K, V>[]) new Node<?, ?>[length];
+        sizeCtl = length - (length >>> 2);
+    }
+
+    private static int getTableLength(int length) {
+        int res = 2;
+        while (res < length && res < MAX_CAPACITY) {
+            res <<= 1;
+        }
+        return res;
+    }
+
+    static int spread(int hashCode) {
+        return (hashCode ^ (hashCode >>> 16)) & HASH_BITS;
+    }
+
+    private static int resizeStamp(int length) {
+        return Integer.numberOfLeadingZeros(length) | (1 << (RESIZE_STAMP_SHIFT - 1));
+    }
+
+    static <K, V> Node<K, V> binAt(Node<K, V>[] tab, int index) {
+        return (Node<K, V>) BINS.getAcquire(tab, index);
+    }
+
+    private static <K, V> boolean casBinAt(Node<K, V>[] tab, int index, Node<K, V> expected, Node<K, V> node) {
+        return BINS.compareAndSet(tab, index, expected, node);
+    }
+
+    private static <K, V> void setBinAt(Node<K, V>[] tab, int index, Node<K, V> node) {
+        BINS.setRelease(tab, index, node);
+    }
+
+    @Override
+    public V get(Object key) {
+        int hash = spread(key.hashCode());
+        Node<K, V>[] tab = table;
+        Node<K, V> first = binAt(tab, (tab.length - 1) & hash);
+        Node<K, V> node = first == null ? null : first.find(hash, key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return putValue(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return putValue(key, value, true);
+    }
+
+    private V putValue(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value);
+        int hash = spread(key.hashCode());
+        V res = null;
+        boolean done = false;
+        Node<K, V>[] tab = table;
+        while (!done) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> first = binAt(tab, index);
+            if (first == null) {
+                done = casBinAt(tab, index, null, new Node<>(hash, key, value, null));
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer(tab, first);
+            } else if (onlyIfAbsent && first.hash == hash && first.key.equals(key)) {
+                res = first.value;
+                done = true;
+            } else {
+                synchronized (first) {
+                    if (binAt(tab, index) == first) {
+                        checkNotReserved(first);
+                        res = putInBin(first, hash, key, value, onlyIfAbsent);
+                        done = true;
+                    }
+                }
+            }
+        }
+        if (res == null) {
+            addCount(1, true);
+        }
+        return res;
+    }
+
+    private V putInBin(Node<K, V> first, int hash, K key, V value, boolean onlyIfAbsent) {
+        Node<K, V> node = first;
+        V res = null;
+        while (res == null) {
+            if (node.hash == hash && node.key.equals(key)) {
+                res = node.value;
+                if (!onlyIfAbsent) {
+                    node.value = value;
+                }
+            } else if (node.next == null) {
+                node.next = new Node<>(hash, key, value, null);
+                break;
+            } else {
+                node = node.next;
+            }
+        }
+        return res;
+    }
+
+    private void checkNotReserved(Node<K, V> first) {
+        if (first.hash == RESERVED) {
+            throw new IllegalStateException("Recursive update");
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int hash = spread(key.hashCode());
+        V res = null;
+        int delta = 0;
+        boolean done = false;
+        Node<K, V>[] tab = table;
+        while (!done) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> first = binAt(tab, index);
+            if (first == null) {
+                Node<K, V> reservation = new ReservationNode<>();
+                synchronized (reservation) {
+                    if (casBinAt(tab, index, null, reservation)) {
+                        Node<K, V> node = null;
+                        try {
+                            res = remappingFunction.apply(key, null);
+                            if (res != null) {
+                                node = new Node<>(hash, key, res, null);
+                                delta = 1;
+                            }
+                        } finally {
+                            setBinAt(tab, index, node);
+                        }
+                        done = true;
+                    }
+                }
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer(tab, first);
+            } else {
+                synchronized (first) {
+                    if (binAt(tab, index) == first) {
+                        checkNotReserved(first);
+                        Node<K, V> previous = null;
+                        Node<K, V> node = first;
+                        while (node != null && (node.hash != hash || !node.key.equals(key))) {
+                            previous = node;
+                            node = node.next;
+                        }
+                        res = remappingFunction.apply(key, node == null ? null : node.value);
+                        if (node == null && res != null) {
+                            previous.next = new Node<>(hash, key, res, null);
+                            delta = 1;
+                        } else if (node != null && res != null) {
+                            node.value = res;
+                        } else if (node != null) {
+                            unlink(tab, index, previous, node);
+                            delta = -1;
+                        }
+                        done = true;
+                    }
+                }
+            }
+        }
+        if (delta != 0) {
+            addCount(delta, delta > 0);
+        }
+        return res;
+    }
+
+    // a present value is read without locking; the others are atomic as compute is
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V res = get(key);
+        if (res == null) {
+            res = compute(key, (k, value) -> value == null ? mappingFunction.apply(k) : value);
+        }
+        return res;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V res = null;
+        if (get(key) != null) {
+            res = compute(key, (k, value) -> value == null ? null : remappingFunction.apply(k, value));
+        }
+        return res;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        return compute(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        Object[] res = new Object[1];
+        if (get(key) != null) {
+            compute(key, (k, oldValue) -> {
+                res[0] = oldValue;
+                return oldValue == null ? null : value;
+            });
+        }
+        return (V) res[0];
+    }
+
+    private void unlink(Node<K, V>[] tab, int index, Node<K, V> previous, Node<K, V> node) {
+        if (previous == null) {
+            setBinAt(tab, index, node.next);
+        } else {
+            previous.next = node.next;
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        int hash = spread(key.hashCode());
+        V res = null;
+        boolean done = false;
+        Node<K, V>[] tab = table;
+        while (!done) {
+            int index = (tab.length - 1) & hash;
+            Node<K, V> first = binAt(tab, index);
+            if (first == null) {
+                done = true;
+            } else if (first.hash == MOVED) {
+                tab = helpTransfer(tab, first);
+            } else {
+                synchronized (first) {
+                    if (binAt(tab, index) == first) {
+                        checkNotReserved(first);
+                        Node<K, V> previous = null;
+                        Node<K, V> node = first;
+                        while (node != null && (node.hash != hash || !node.key.equals(key))) {
+                            previous = node;
+                            node = node.next;
+                        }
+                        if (node != null) {
+                            res = node.value;
+                            unlink(tab, index, previous, node);
+                        }
+                        done = true;
+                    }
+                }
+            }
+        }
+        if (res != null) {
+            addCount(-1, false);
+        }
+        return res;
+    }
+
+    private void addCount(long delta, boolean checkResize) {
+        count.add(delta);
+        if (checkResize) {
+            int sc;
+            Node<K, V>[] tab;
+            while (count.sum() >= (sc = sizeCtl) && (tab = table).length < MAX_CAPACITY) {
+                int stamp = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+                if (sc < 0) {
+                    Node<K, V>[] next = nextTable;
+                    if (sc == stamp + MAX_RESIZERS || sc == stamp + 1 || next == null || transferIndex <= 0) {
+                        break;
+                    }
+                    if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                        transfer(tab, next);
+                    }
+                } else if (SIZE_CTL.compareAndSet(this, sc, stamp + 2)) {
+                    transfer(tab, null);
+                }
+            }
+        }
+    }
+
+    private Node<K, V>[] helpTransfer(Node<K, V>[] tab, Node<K, V> first) {
+        Node<K, V>[] next = ((ForwardingNode<K, V>) first).nextTable;
+        int stamp = resizeStamp(tab.length) << RESIZE_STAMP_SHIFT;
+        int sc;
+        while (next == nextTable && tab == table && (sc = sizeCtl) < 0) {
+            if (sc == stamp + MAX_RESIZERS || sc == stamp + 1 || transferIndex <= 0) {
+                break;
+            }
+            if (SIZE_CTL.compareAndSet(this, sc, sc + 1)) {
+                transfer(tab, next);
+                break;
+            }
+        }
+        return next;
+    }
+
+    // each thread claims a stride of bins going down from transferIndex and moves them;
+    // the last thread to leave rechecks all the bins and publishes the next table
+    private void transfer(Node<K, V>[] tab, Node<K, V>[] next) {
+        int length = tab.length;
+        int stride = Math.max(N_CPU > 1 ? (length >>> 3) / N_CPU : length, MIN_TRANSFER_STRIDE);
+        if (next == null) {
+            next = (Node<K, V>[]) new Node<?, ?>[length << 1];
+            nextTable = next;
+            transferIndex = length;
+        }
+        ForwardingNode<K, V> forwarding = new ForwardingNode<>(next);
+        boolean advance = true;
+        boolean finishing = false;
+        int index = 0;
+        int bound = 0;
+        while (true) {
+            while (advance) {
+                int nextIndex;
+                if (--index >= bound || finishing) {
+                    advance = false;
+                } else if ((nextIndex = transferIndex) <= 0) {
+                    index = -1;
+                    advance = false;
+                } else {
+                    int nextBound = nextIndex > stride ? nextIndex - stride : 0;
+                    if (TRANSFER_INDEX.compareAndSet(this, nextIndex, nextBound)) {
+                        bound = nextBound;
+                        index = nextIndex - 1;
+                        advance = false;
+                    }
+                }
+            }
+            if (index < 0) {
+                if (finishing) {
+                    nextTable = null;
+                    table = next;
+                    sizeCtl = (length << 1) - (length >>> 1);
+                    return;
+                }
+                int sc = sizeCtl;
+                if (SIZE_CTL.compareAndSet(this, sc, sc - 1)) {
+                    if (sc - 2 != resizeStamp(length) << RESIZE_STAMP_SHIFT) {
+                        return;
+                    }
+                    finishing = advance = true;
+                    index = length;
+                }
+            } else {
+                Node<K, V> first = binAt(tab, index);
+                if (first == null) {
+                    advance = casBinAt(tab, index, null, forwarding);
+                } else if (first.hash == MOVED) {
+                    advance = true;
+                } else {
+                    synchronized (first) {
+                        if (binAt(tab, index) == first) {
+                            splitBin(first, next, index, length);
+                            setBinAt(tab, index, forwarding);
+                            advance = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // the trailing run of nodes going to the same half is reused, the nodes before it are copied,
+    // so readers still traversing the old bin see it unchanged
+    private void splitBin(Node<K, V> first, Node<K, V>[] next, int index, int length) {
+        int runBit = first.hash & length;
+        Node<K, V> lastRun = first;
+        for (Node<K, V> node = first.next; node != null; node = node.next) {
+            int bit = node.hash & length;
+            if (bit != runBit) {
+                runBit = bit;
+                lastRun = node;
+            }
+        }
+        Node<K, V> low = runBit == 0 ? lastRun : null;
+        Node<K, V> high = runBit == 0 ? null : lastRun;
+        for (Node<K, V> node = first; node != lastRun; node = node.next) {
+            if ((node.hash & length) == 0) {
+                low = new Node<>(node.hash, node.key, node.value, low);
+            } else {
+                high = new Node<>(node.hash, node.key, node.value, high);
+            }
+        }
+        setBinAt(next, index, low);
+        setBinAt(next, index + length, high);
+    }
+
+    // weakly consistent: sees every mapping present for the whole traversal, maybe some of the others
+    private void forEachNode(Consumer<Node<K, V>> action) {
+        Node<K, V>[] tab = table;
+        for (int i = 0; i < tab.length; i++) {
+            forEachNode(tab, i, action);
+        }
+    }
+
+    private void forEachNode(Node<K, V>[] tab, int index, Consumer<Node<K, V>> action) {
+        Node<K, V> first = binAt(tab, index);
+        if (first instanceof ForwardingNode<K, V> forwarding) {
+            forEachNode(forwarding.nextTable, index, action);
+            forEachNode(forwarding.nextTable, index + tab.length, action);
+        } else {
+            for (Node<K, V> node = first; node != null; node = node.next) {
+                if (node.hash >= 0) {
+                    action.accept(node);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        boolean[] found = { false };
+        forEachNode(node -> found[0] = found[0] || node.value.equals(value));
+        return found[0];
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> res = new HashSet<>();
+        forEachNode(node -> res.add(node.key));
+        return res;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> res = new HashSet<>();
+        forEachNode(node -> res.add(new MapEntry(node.key, node.value)));
+        return res;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> res = new LinkedList<>();
+        forEachNode(node -> res.add(node.value));
+        return res;
+    }
+
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+}
@@ -0,0 +1,488 @@
+package telran.util.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import telran.util.SortedSet;
+
+// a lock-free skip list: a node is removed by marking its next references, from the top level down,
+// and the marked bottom reference is the moment of the removal; the threads passing a marked node
+// unlink it on the way. readers never write, and the iterators are weakly consistent.
+// a marked reference is the successor wrapped into a Marked object, so the unmarked ones, nearly all,
+// are the nodes themselves, and a step of the search reads the next array only
+@SuppressWarnings("unchecked")
+public class ConcurrentSkipListSet<T> implements SortedSet<T> {
+    private static final int MAX_LEVEL = 15;
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private final Comparator<T> comparator;
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+    private final Node<T> tail = new Node<>(null, MAX_LEVEL);
+    private final LongAdder count = new LongAdder();
+
+    private static class Node<T> {
+        final T obj;
+        final int topLevel;
+        // a successor node or a Marked one
+        final Object[] next;
+
+        Node(T obj, int topLevel) {
+            this.obj = obj;
+            this.topLevel = topLevel;
+            next = new Object[topLevel + 1];
+        }
+
+        Object next(int level) {
+            return NEXT.getVolatile(next, level);
+        }
+
+        Node<T> nextNode(int level) {
+            Object ref = next(level);
+            return ref instanceof Marked<?> marked ? (Node<T>) marked.node : (Node<T>) ref;
+        }
+
+        boolean isMarked(int level) {
+            return next(level) instanceof Marked;
+        }
+
+        boolean casNext(int level, Object expected, Object ref) {
+            return NEXT.compareAndSet(next, level, expected, ref);
+        }
+
+        boolean isRemoved() {
+            return isMarked(0);
+        }
+    }
+
+    private record Marked<T>(Node<T> node) {
+    }
+
+    private class ConcurrentSkipListSetIterator implements Iterator<T> {
+        private final T keyTo;
+        private Node<T> next;
+        private Node<T> lastReturned;
+
+        ConcurrentSkipListSetIterator(Node<T> first, T keyTo) {
+            this.keyTo = keyTo;
+            next = bounded(first);
+        }
+
+        private Node<T> bounded(Node<T> node) {
+            return node == null || keyTo != null && comparator.compare(node.obj, keyTo) >= 0 ? null : node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = bounded(successor(next));
+            return lastReturned.obj;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            removeNode(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    public ConcurrentSkipListSet(Comparator<T> comparator) {
+        this.comparator = comparator;
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            head.next[level] = tail;
+        }
+    }
+
+    public ConcurrentSkipListSet() {
+        this((Comparator<T>) Comparator.naturalOrder());
+    }
+
+    // level l with the probability 3 / 4^(l + 1): the nodes of a level are about a quarter of the level below,
+    // which halves the levels and the next references of p = 1/2 for a few more steps at each level
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | 1 << 2 * MAX_LEVEL) / 2;
+    }
+
+    private boolean isBefore(Node<T> node, T key) {
+        return node != tail && comparator.compare(node.obj, key) < 0;
+    }
+
+    // fills the last nodes before the key and the nodes after them at every level, unlinking the marked nodes;
+    // returns whether the node after at the bottom level has the key
+    private boolean find(T key, Node<T>[] preds, Node<T>[] succs) {
+        boolean retry = true;
+        Node<T> curr = null;
+        while (retry) {
+            retry = false;
+            Node<T> pred = head;
+            for (int level = MAX_LEVEL; level >= 0 && !retry; level--) {
+                curr = pred.nextNode(level);
+                boolean stop = false;
+                while (!stop && !retry) {
+                    Object ref = curr.next(level);
+                    while (ref instanceof Marked<?> marked && !retry) {
+                        if (!pred.casNext(level, curr, marked.node)) {
+                            retry = true;
+                        } else {
+                            curr = (Node<T>) marked.node;
+                            ref = curr.next(level);
+                        }
+                    }
+                    if (retry || !isBefore(curr, key)) {
+                        stop = true;
+                    } else {
+                        pred = curr;
+                        curr = (Node<T>) ref;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+        }
+        return curr != tail && comparator.compare(curr.obj, key) == 0;
+    }
+
+    // the node with the key or null; passes the marked nodes without unlinking them
+    private Node<T> findNode(T key) {
+        Node<T> pred = head;
+        Node<T> curr = null;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            curr = pred.nextNode(level);
+            while (curr != tail && (curr.isMarked(level) || isBefore(curr, key))) {
+                if (!curr.isMarked(level)) {
+                    pred = curr;
+                }
+                curr = curr.nextNode(level);
+            }
+        }
+        return curr != tail && comparator.compare(curr.obj, key) == 0 ? curr : null;
+    }
+
+    // the last present node before the key, or up to the key when inclusive; null key means no bound
+    private Node<T> lowerNode(T key, boolean inclusive) {
+        Node<T> res;
+        do {
+            Node<T> pred = head;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                Node<T> curr = pred.nextNode(level);
+                while (curr != tail && (curr.isMarked(level) || key == null
+                        || comparator.compare(curr.obj, key) < (inclusive ? 1 : 0))) {
+                    if (!curr.isMarked(level)) {
+                        pred = curr;
+                    }
+                    curr = curr.nextNode(level);
+                }
+            }
+            res = pred == head ? null : pred;
+        } while (res != null && res.isRemoved());
+        return res;
+    }
+
+    // the first present node from the key, or after the key when not inclusive; null key means no bound
+    private Node<T> higherNode(T key, boolean inclusive) {
+        Node<T> pred = key == null ? head : lowerNode(key, !inclusive);
+        Node<T> res = successor(pred == null ? head : pred);
+        // a node added after the search may be linked between the predecessor and the key
+        while (res != null && key != null && comparator.compare(res.obj, key) < (inclusive ? 0 : 1)) {
+            res = successor(res);
+        }
+        return res;
+    }
+
+    // the next present node at the bottom level, null at the end
+    private Node<T> successor(Node<T> node) {
+        Node<T> res = node.nextNode(0);
+        while (res != tail && res.isRemoved()) {
+            res = res.nextNode(0);
+        }
+        return res == tail ? null : res;
+    }
+
+    @Override
+    public boolean add(T obj) {
+        Objects.requireNonNull(obj);
+        int topLevel = randomLevel();
+        Node<T>[] preds = new Node[MAX_LEVEL + 1];
+        Node<T>[] succs = new Node[MAX_LEVEL + 1];
+        boolean res = false;
+        boolean linked = false;
+        Node<T> newNode = new Node<>(obj, topLevel);
+        while (!linked && !find(obj, preds, succs)) {
+            System.arraycopy(succs, 0, newNode.next, 0, topLevel + 1);
+            linked = preds[0].casNext(0, succs[0], newNode);
+        }
+        if (linked) {
+            res = true;
+            count.increment();
+            linkUpperLevels(newNode, preds, succs);
+        }
+        return res;
+    }
+
+    // the node is in the set once linked at the bottom level, the upper levels only speed up the search;
+    // linking stops when the node is removed meanwhile
+    private void linkUpperLevels(Node<T> node, Node<T>[] preds, Node<T>[] succs) {
+        for (int level = 1; level <= node.topLevel && !node.isRemoved(); level++) {
+            boolean linked = false;
+            while (!linked && !node.isRemoved()) {
+                Node<T> succ = succs[level];
+                Object current = node.next(level);
+                if (!(current instanceof Marked) && (current == succ || node.casNext(level, current, succ))) {
+                    linked = preds[level].casNext(level, succ, node);
+                }
+                if (!linked) {
+                    find(node.obj, preds, succs);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(T pattern) {
+        Node<T>[] preds = new Node[MAX_LEVEL + 1];
+        Node<T>[] succs = new Node[MAX_LEVEL + 1];
+        return pattern != null && find(pattern, preds, succs) && removeNode(succs[0]);
+    }
+
+    // marks the node from the top level down; the thread marking the bottom level removes it
+    // and then unlinks it by a search
+    private boolean removeNode(Node<T> node) {
+        for (int level = node.topLevel; level > 0; level--) {
+            Object ref = node.next(level);
+            while (!(ref instanceof Marked)) {
+                node.casNext(level, ref, new Marked<>((Node<T>) ref));
+                ref = node.next(level);
+            }
+        }
+        boolean res = false;
+        Object ref = node.next(0);
+        while (!(ref instanceof Marked) && !res) {
+            res = node.casNext(0, ref, new Marked<>((Node<T>) ref));
+            ref = node.next(0);
+        }
+        if (res) {
+            count.decrement();
+            find(node.obj, new Node[MAX_LEVEL + 1], new Node[MAX_LEVEL + 1]);
+        }
+        return res;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(count.sum(), 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return successor(head) == null;
+    }
+
+    @Override
+    public boolean contains(T pattern) {
+        return pattern != null && findNode(pattern) != null;
+    }
+
+    @Override
+    public T get(Object pattern) {
+        Node<T> node = pattern == null ? null : findNode((T) pattern);
+        return node == null ? null : node.obj;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ConcurrentSkipListSetIterator(successor(head), null);
+    }
+
+    private static <T> T objOrNull(Node<T> node) {
+        return node == null ? null : node.obj;
+    }
+
+    private static <T> T objOrThrow(Node<T> node) {
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node.obj;
+    }
+
+    @Override
+    public T first() {
+        return objOrThrow(successor(head));
+    }
+
+    @Override
+    public T last() {
+        return objOrThrow(lowerNode(null, true));
+    }
+
+    @Override
+    public T floor(T key) {
+        return objOrNull(lowerNode(key, true));
+    }
+
+    @Override
+    public T ceiling(T key) {
+        return objOrNull(higherNode(key, true));
+    }
+
+    @Override
+    public SortedSet<T> subSet(T keyFrom, T keyTo) {
+        return new SubSet(keyFrom, keyTo);
+    }
+
+    @Override
+    public SortedSet<T> headSet(T keyTo) {
+        return new SubSet(null, keyTo);
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T keyFrom) {
+        return new SubSet(keyFrom, null);
+    }
+
+    // a live view of the elements from keyFrom inclusive to keyTo exclusive, null bounds are open;
+    // the size is counted by passing the range
+    private class SubSet implements SortedSet<T> {
+        final T keyFrom;
+        final T keyTo;
+
+        SubSet(T keyFrom, T keyTo) {
+            this.keyFrom = keyFrom;
+            this.keyTo = keyTo;
+        }
+
+        private boolean tooLow(T key) {
+            return keyFrom != null && comparator.compare(key, keyFrom) < 0;
+        }
+
+        private boolean tooHigh(T key) {
+            return keyTo != null && comparator.compare(key, keyTo) >= 0;
+        }
+
+        private boolean inRange(T key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        private Node<T> inRangeOrNull(Node<T> node) {
+            return node == null || !inRange(node.obj) ? null : node;
+        }
+
+        private Node<T> lowestNode() {
+            return inRangeOrNull(higherNode(keyFrom, true));
+        }
+
+        private Node<T> highestNode() {
+            return inRangeOrNull(lowerNode(keyTo, keyTo == null));
+        }
+
+        @Override
+        public boolean add(T obj) {
+            if (!inRange(obj)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return ConcurrentSkipListSet.this.add(obj);
+        }
+
+        @Override
+        public boolean remove(T pattern) {
+            return inRange(pattern) && ConcurrentSkipListSet.this.remove(pattern);
+        }
+
+        @Override
+        public int size() {
+            int res = 0;
+            Iterator<T> it = iterator();
+            while (it.hasNext()) {
+                it.next();
+                res++;
+            }
+            return res;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowestNode() == null;
+        }
+
+        @Override
+        public boolean contains(T pattern) {
+            return inRange(pattern) && ConcurrentSkipListSet.this.contains(pattern);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new ConcurrentSkipListSetIterator(lowestNode(), keyTo);
+        }
+
+        @Override
+        public T get(Object pattern) {
+            return inRange((T) pattern) ? ConcurrentSkipListSet.this.get(pattern) : null;
+        }
+
+        @Override
+        public T first() {
+            return objOrThrow(lowestNode());
+        }
+
+        @Override
+        public T last() {
+            return objOrThrow(highestNode());
+        }
+
+        @Override
+        public T floor(T key) {
+            T res = null;
+            if (!tooLow(key)) {
+                res = objOrNull(inRangeOrNull(tooHigh(key) ? lowerNode(keyTo, false) : lowerNode(key, true)));
+            }
+            return res;
+        }
+
+        @Override
+        public T ceiling(T key) {
+            T res = null;
+            if (!tooHigh(key)) {
+                res = objOrNull(inRangeOrNull(higherNode(tooLow(key) ? keyFrom : key, true)));
+            }
+            return res;
+        }
+
+        @Override
+        public SortedSet<T> subSet(T keyFrom, T keyTo) {
+            return new SubSet(max(this.keyFrom, keyFrom), min(this.keyTo, keyTo));
+        }
+
+        @Override
+        public SortedSet<T> headSet(T keyTo) {
+            return new SubSet(keyFrom, min(this.keyTo, keyTo));
+        }
+
+        @Override
+        public SortedSet<T> tailSet(T keyFrom) {
+            return new SubSet(max(this.keyFrom, keyFrom), keyTo);
+        }
+
+        private T max(T bound, T key) {
+            return bound == null || comparator.compare(key, bound) > 0 ? key : bound;
+        }
+
+        private T min(T bound, T key) {
+            return bound == null || comparator.compare(key, bound) < 0 ? key : bound;
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package telran.util.concurrent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import telran.util.ArrayList;
+import telran.util.Collection;
+import telran.util.List;
+
+// every mutation publishes a new array under a single writer lock, so readers never lock or block:
+// they see one array, whose length is the size, and iterate over the array taken when the iteration began
+@SuppressWarnings("unchecked")
+public class CopyOnWriteArrayList<T> implements List<T> {
+    private final Object lock = new Object();
+    private volatile Object[] array = new Object[0];
+
+    private static class SnapshotIterator<T> implements Iterator<T> {
+        private final Object[] snapshot;
+        private int index;
+
+        SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < snapshot.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (T) snapshot[index++];
+        }
+    }
+
+    private static void checkIndex(int index, int limit) {
+        if (index < 0 || index > limit) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    @Override
+    public boolean add(T obj) {
+        synchronized (lock) {
+            Object[] snapshot = array;
+            Object[] newArray = Arrays.copyOf(snapshot, snapshot.length + 1);
+            newArray[snapshot.length] = obj;
+            array = newArray;
+        }
+        return true;
+    }
+
+    @Override
+    public void add(int index, T obj) {
+        synchronized (lock) {
+            Object[] snapshot = array;
+            checkIndex(index, snapshot.length);
+            Object[] newArray = new Object[snapshot.length + 1];
+            System.arraycopy(snapshot, 0, newArray, 0, index);
+            newArray[index] = obj;
+            System.arraycopy(snapshot, index, newArray, index + 1, snapshot.length - index);
+            array = newArray;
+        }
+    }
+
+    // one copy for all the elements
+    @Override
+    public boolean addAll(Collection<? extends T> other) {
+        Object[] elements = other.stream().toArray();
+        synchronized (lock) {
+            Object[] snapshot = array;
+            Object[] newArray = Arrays.copyOf(snapshot, snapshot.length + elements.length);
+            System.arraycopy(elements, 0, newArray, snapshot.length, elements.length);
+            array = newArray;
+        }
+        return elements.length > 0;
+    }
+
+    @Override
+    public T remove(int index) {
+        synchronized (lock) {
+            Object[] snapshot = array;
+            checkIndex(index, snapshot.length - 1);
+            removeAt(snapshot, index);
+            return (T) snapshot[index];
+        }
+    }
+
+    private void removeAt(Object[] snapshot, int index) {
+        Object[] newArray = new Object[snapshot.length - 1];
+        System.arraycopy(snapshot, 0, newArray, 0, index);
+        System.arraycopy(snapshot, index + 1, newArray, index, snapshot.length - index - 1);
+        array = newArray;
+    }
+
+    @Override
+    public boolean remove(T pattern) {
+        synchronized (lock) {
+            Object[] snapshot = array;
+            int index = indexOf(snapshot, pattern);
+            if (index >= 0) {
+                removeAt(snapshot, index);
+            }
+            return index >= 0;
+        }
+    }
+
+    // one copy for all the removed elements
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        synchronized (lock) {
+            Object[] snapshot = array;
+            Object[] newArray = new Object[snapshot.length];
+            int newLength = 0;
+            for (Object obj : snapshot) {
+                if (!predicate.test((T) obj)) {
+                    newArray[newLength++] = obj;
+                }
+            }
+            boolean res = newLength < snapshot.length;
+            if (res) {
+                array = Arrays.copyOf(newArray, newLength);
+            }
+            return res;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            array = new Object[0];
+        }
+    }
+
+    // applies any number of mutations to a working copy and publishes the result with one write;
+    // readers see either none or all of them, and an exception of the mutation leaves the list unchanged
+    public void batch(Consumer<? super List<T>> mutation) {
+        synchronized (lock) {
+            Object[] snapshot = array;
+            List<T> working = new ArrayList<>(snapshot.length + 1);
+            for (Object obj : snapshot) {
+                working.add((T) obj);
+            }
+            mutation.accept(working);
+            array = working.stream().toArray();
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        Object[] snapshot = array;
+        checkIndex(index, snapshot.length - 1);
+        return (T) snapshot[index];
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    private static int indexOf(Object[] snapshot, Object pattern) {
+        int index = 0;
+        while (index < snapshot.length && !Objects.equals(snapshot[index], pattern)) {
+            index++;
+        }
+        return index == snapshot.length ? -1 : index;
+    }
+
+    @Override
+    public int indexOf(T pattern) {
+        return indexOf(array, pattern);
+    }
+
+    @Override
+    public int lastIndexOf(T pattern) {
+        Object[] snapshot = array;
+        int index = snapshot.length - 1;
+        while (index >= 0 && !Objects.equals(snapshot[index], pattern)) {
+            index--;
+        }
+        return index;
+    }
+
+    // the iterator doesn't remove, since its snapshot isn't the list
+    @Override
+    public Iterator<T> iterator() {
+        return new SnapshotIterator<>(array);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+}
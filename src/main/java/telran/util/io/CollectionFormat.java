@@ -0,0 +1,17 @@
+package telran.util.io;
+
+// a collection in the stream is a header followed by its elements, or by keys each followed by its value,
+// written by the serializers with no framing of their own:
+// magic int, version byte, flags byte, number of elements long
+final class CollectionFormat {
+    static final int MAGIC = 0x54524C43;
+    static final byte VERSION = 1;
+    static final byte MAP = 1;
+    // the elements or the keys are in ascending order
+    static final byte SORTED = 2;
+    static final int HEADER_SIZE = Integer.BYTES + 2 + Long.BYTES;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private CollectionFormat() {
+    }
+}
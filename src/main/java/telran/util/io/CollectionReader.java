@@ -0,0 +1,236 @@
+package telran.util.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import telran.util.ArrayList;
+import telran.util.HashMap;
+import telran.util.HashSet;
+import telran.util.Map.Entry;
+import telran.util.TreeMap;
+import telran.util.TreeSet;
+
+import static telran.util.io.CollectionFormat.*;
+
+// reads the collections in the order they were written, element by element through one buffer,
+// so the only copy of the elements in memory is the collection being built
+@SuppressWarnings("unchecked")
+public class CollectionReader implements AutoCloseable {
+    private static final float FACTOR = 0.75f;
+    private final ReadableByteChannel channel;
+    // holds the bytes read from the channel and not taken yet between its position and limit
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).limit(0);
+
+    public CollectionReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public CollectionReader(Path path) {
+        this(open(path));
+    }
+
+    private static FileChannel open(Path path) {
+        try {
+            return FileChannel.open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> ArrayList<T> readArrayList(Serializer<T> serializer) {
+        int count = toInt(readHeader(false));
+        ArrayList<T> res = new ArrayList<>(presize(count));
+        for (int i = 0; i < count; i++) {
+            res.add(read(serializer));
+        }
+        return res;
+    }
+
+    public <T> HashSet<T> readHashSet(Serializer<T> serializer) {
+        int count = toInt(readHeader(false));
+        HashSet<T> res = new HashSet<>(tableLength(presize(count)), FACTOR);
+        for (int i = 0; i < count; i++) {
+            res.add(read(serializer));
+        }
+        return res;
+    }
+
+    // a sorted set is built balanced in linear time; the comparator must give the order it was written in
+    public <T> TreeSet<T> readTreeSet(Serializer<T> serializer, Comparator<T> comparator) {
+        boolean sorted = (peekFlags() & SORTED) != 0;
+        long count = readHeader(false);
+        Iterable<T> elements = () -> new ElementIterator<>(count, () -> read(serializer));
+        TreeSet<T> res;
+        if (sorted) {
+            res = TreeSet.fromSorted(elements, comparator);
+        } else {
+            res = new TreeSet<>(comparator);
+            elements.forEach(res::add);
+        }
+        return res;
+    }
+
+    public <T> TreeSet<T> readTreeSet(Serializer<T> serializer) {
+        return readTreeSet(serializer, (Comparator<T>) Comparator.naturalOrder());
+    }
+
+    public <K, V> HashMap<K, V> readHashMap(Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        int count = toInt(readHeader(true));
+        HashMap<K, V> res = new HashMap<>(tableLength(presize(count)), FACTOR);
+        for (int i = 0; i < count; i++) {
+            res.put(read(keySerializer), read(valueSerializer));
+        }
+        return res;
+    }
+
+    public <K, V> TreeMap<K, V> readTreeMap(Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        boolean sorted = (peekFlags() & SORTED) != 0;
+        long count = readHeader(true);
+        Iterable<Entry<K, V>> entries = () -> new ElementIterator<>(count,
+                () -> new Entry<>(read(keySerializer), read(valueSerializer)));
+        TreeMap<K, V> res;
+        if (sorted) {
+            res = TreeMap.fromSorted(entries);
+        } else {
+            res = new TreeMap<>();
+            for (Entry<K, V> entry : entries) {
+                res.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return res;
+    }
+
+    // yields the given number of elements read one by one
+    private static class ElementIterator<T> implements Iterator<T> {
+        private long remaining;
+        private final Supplier<T> reader;
+
+        ElementIterator(long count, Supplier<T> reader) {
+            remaining = count;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            return reader.get();
+        }
+    }
+
+    // a corrupt count mustn't allocate more than the stream can hold; the collection grows beyond it
+    private static int presize(int count) {
+        return Math.min(count, BUFFER_SIZE);
+    }
+
+    private static int tableLength(int count) {
+        return (int) Math.min(count / FACTOR + 1, 1 << 30);
+    }
+
+    private static int toInt(long count) {
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many elements for the collection: " + count);
+        }
+        return (int) count;
+    }
+
+    // the flags of the next header, which stays to be read
+    private byte peekFlags() {
+        require(HEADER_SIZE);
+        return buffer.get(buffer.position() + Integer.BYTES + 1);
+    }
+
+    // checks the header and returns the number of elements
+    private long readHeader(boolean map) {
+        require(HEADER_SIZE);
+        if (buffer.getInt() != MAGIC) {
+            throw corrupted("not a collection");
+        }
+        byte version = buffer.get();
+        if (version > VERSION) {
+            throw corrupted("unsupported version " + version);
+        }
+        boolean isMap = (buffer.get() & MAP) != 0;
+        long count = buffer.getLong();
+        if (isMap != map) {
+            throw new IllegalArgumentException(isMap ? "the stream holds a map" : "the stream holds a collection");
+        }
+        if (count < 0) {
+            throw corrupted("negative number of elements");
+        }
+        return count;
+    }
+
+    private static UncheckedIOException corrupted(String message) {
+        return new UncheckedIOException(new StreamCorruptedException(message));
+    }
+
+    // the serializers know the sizes of their objects only while reading them,
+    // so a read running out of the buffer is repeated after the buffer gets more bytes
+    private <T> T read(Serializer<T> serializer) {
+        T res = null;
+        boolean done = false;
+        while (!done) {
+            int position = buffer.position();
+            try {
+                res = serializer.read(buffer);
+                done = true;
+            } catch (BufferUnderflowException e) {
+                buffer.position(position);
+                fill();
+            }
+        }
+        return res;
+    }
+
+    private void require(int size) {
+        while (buffer.remaining() < size) {
+            fill();
+        }
+    }
+
+    // reads more bytes after the ones not taken yet, growing the buffer when they fill it
+    private void fill() {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            ByteBuffer newBuffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+            buffer = newBuffer.put(buffer.flip());
+        }
+        try {
+            int nBytes = channel.read(buffer);
+            buffer.flip();
+            if (nBytes < 0) {
+                throw new UncheckedIOException(new EOFException("the stream ends inside a collection"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package telran.util.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import telran.util.Collection;
+import telran.util.Map;
+import telran.util.SortedSet;
+import telran.util.TreeMap;
+
+import static telran.util.io.CollectionFormat.*;
+
+// writes collections one after another, element by element through one buffer,
+// so a collection of any size takes no more memory than its largest element;
+// a collection mustn't change and mustn't hold nulls while it's written
+public class CollectionWriter implements AutoCloseable {
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    public CollectionWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public CollectionWriter(Path path) {
+        this(open(path));
+    }
+
+    private static FileChannel open(Path path) {
+        try {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // sorted sets are marked as sorted, so a reader may build a tree of them in linear time
+    public <T> void write(Collection<T> collection, Serializer<T> serializer) {
+        writeHeader(collection instanceof SortedSet ? SORTED : 0, collection.size());
+        for (T obj : collection) {
+            write(obj, serializer);
+        }
+    }
+
+    public <K, V> void write(Map<K, V> map, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        writeHeader((byte) (MAP | (map instanceof TreeMap ? SORTED : 0)), map.size());
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            write(entry.getKey(), keySerializer);
+            write(entry.getValue(), valueSerializer);
+        }
+    }
+
+    private void writeHeader(byte flags, long count) {
+        reserve(HEADER_SIZE);
+        buffer.putInt(MAGIC).put(VERSION).put(flags).putLong(count);
+    }
+
+    private <T> void write(T obj, Serializer<T> serializer) {
+        reserve(serializer.size(obj));
+        serializer.write(buffer, obj);
+    }
+
+    // makes room for the given number of bytes, growing the buffer for an element larger than it
+    private void reserve(int size) {
+        if (buffer.remaining() < size) {
+            flush();
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size - 1) << 1);
+            }
+        }
+    }
+
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
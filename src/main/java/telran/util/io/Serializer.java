@@ -0,0 +1,112 @@
+package telran.util.io;
+
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// writes an object at the buffer's position and reads it back; size is the number of bytes written
+public interface Serializer<T> {
+    int size(T obj);
+
+    void write(ByteBuffer buffer, T obj);
+
+    T read(ByteBuffer buffer);
+
+    Serializer<Integer> INTEGER = new Serializer<>() {
+        @Override
+        public int size(Integer obj) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, Integer obj) {
+            buffer.putInt(obj);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    Serializer<Long> LONG = new Serializer<>() {
+        @Override
+        public int size(Long obj) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, Long obj) {
+            buffer.putLong(obj);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    Serializer<Double> DOUBLE = new Serializer<>() {
+        @Override
+        public int size(Double obj) {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, Double obj) {
+            buffer.putDouble(obj);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    // UTF-8 bytes after their number
+    Serializer<String> STRING = new Serializer<>() {
+        @Override
+        public int size(String obj) {
+            int res = Integer.BYTES;
+            for (int i = 0; i < obj.length(); i++) {
+                char c = obj.charAt(i);
+                if (c < 0x80) {
+                    res++;
+                } else if (c < 0x800) {
+                    res += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < obj.length()
+                        && Character.isLowSurrogate(obj.charAt(i + 1))) {
+                    res += 4;
+                    i++;
+                } else {
+                    res += 3;
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, String obj) {
+            byte[] bytes = obj.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            int length = buffer.getInt();
+            if (length < 0) {
+                throw new UncheckedIOException(new StreamCorruptedException("negative string length"));
+            }
+            // the bytes are allocated once the buffer holds them, not on every retry of the reader
+            if (buffer.remaining() < length) {
+                throw new BufferUnderflowException();
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
@@ -0,0 +1,737 @@
+package telran.util.mapped;
+
+import static telran.util.mapped.PageFile.PAGE_SIZE;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.zip.CRC32C;
+
+import telran.util.io.Serializer;
+import telran.util.primitive.IntHashSet;
+import telran.util.primitive.IntSet;
+import telran.util.primitive.LongArrayList;
+import telran.util.primitive.LongList;
+
+// Copy-on-write B+tree in a page file. Pages of the committed tree are never overwritten:
+// a change copies the path from the leaf to the root into pages free since the last commit,
+// and commit makes the new root durable by writing the newer of the two alternating headers.
+// A torn header fails its checksum, so reopening falls back to the previous commit.
+@SuppressWarnings("unchecked")
+class BPlusTree<K, V> implements AutoCloseable {
+    private static final int MAGIC = 0x42505431;
+    private static final int VERSION = 1;
+    private static final int GENERATION = 12;
+    private static final int ROOT = 20;
+    private static final int SIZE = 28;
+    private static final int PAGE_COUNT = 36;
+    private static final int FREE_LIST_HEAD = 44;
+    private static final int CRC = 52;
+    private static final byte LEAF = 1;
+    private static final byte INNER = 2;
+    private static final byte FREE_LIST = 3;
+    private static final int NODE_HEADER = 3;
+    static final int MAX_ENTRY_SIZE = (PAGE_SIZE - NODE_HEADER) / 4;
+    private static final int FREE_LIST_HEADER = 13;
+    private static final int FREE_LIST_CAPACITY = (PAGE_SIZE - FREE_LIST_HEADER) / Long.BYTES;
+    private static final int CACHE_SIZE = 4096;
+    private static final long NO_PAGE = 0;
+    private static final long FIRST_DATA_PAGE = 2;
+
+    private final PageFile file;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final Comparator<K> comparator;
+    // decoded nodes, a page at the slot of its number modulo the cache size;
+    // a changed node is written to its page when it leaves the cache or on commit
+    private final Node[] cache = new Node[CACHE_SIZE];
+    private long generation;
+    private long root;
+    private long size;
+    private long pageCount;
+    private final LongList free = new LongArrayList();
+    // pages of the committed tree replaced since, free after the next commit
+    private LongList pendingFree = new LongArrayList();
+    private LongList freeListPages = new LongArrayList();
+    // pages allocated since the last commit are not in the committed tree, so their nodes change in place
+    private final IntSet freshPages = new IntHashSet();
+    private V lastValue;
+    int modCount;
+
+    static final class Node {
+        final long page;
+        final boolean leaf;
+        // changed since written to the page
+        boolean dirty;
+        int count;
+        // size of the encoded node
+        int bytes;
+        Object[] keys;
+        Object[] values;
+        long[] children;
+
+        Node(long page, boolean leaf, int capacity) {
+            this.page = page;
+            this.leaf = leaf;
+            bytes = leaf ? NODE_HEADER : NODE_HEADER + Long.BYTES;
+            keys = new Object[capacity];
+            if (leaf) {
+                values = new Object[capacity];
+            } else {
+                children = new long[capacity + 1];
+            }
+        }
+
+        Node copy(long page) {
+            Node res = new Node(page, leaf, 0);
+            res.count = count;
+            res.bytes = bytes;
+            res.keys = keys.clone();
+            if (leaf) {
+                res.values = values.clone();
+            } else {
+                res.children = children.clone();
+            }
+            return res;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (keys.length < capacity) {
+                int length = Math.max(capacity, keys.length * 2);
+                keys = Arrays.copyOf(keys, length);
+                if (leaf) {
+                    values = Arrays.copyOf(values, length);
+                } else {
+                    children = Arrays.copyOf(children, length + 1);
+                }
+            }
+        }
+
+        void insertLeaf(int index, Object key, Object value) {
+            ensureCapacity(count + 1);
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(values, index, values, index + 1, count - index);
+            keys[index] = key;
+            values[index] = value;
+            count++;
+        }
+
+        void removeLeaf(int index) {
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(values, index + 1, values, index, count - index - 1);
+            count--;
+            keys[count] = null;
+            values[count] = null;
+        }
+
+        // the key separates the children at the index and after it
+        void insertInner(int index, Object key, long child) {
+            ensureCapacity(count + 1);
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(children, index + 1, children, index + 2, count - index);
+            keys[index] = key;
+            children[index + 1] = child;
+            count++;
+        }
+
+        void removeInner(int index) {
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(children, index + 2, children, index + 1, count - index - 1);
+            count--;
+            keys[count] = null;
+        }
+
+        void append(Node right, Object separator) {
+            int start = leaf ? count : count + 1;
+            ensureCapacity(start + right.count);
+            if (leaf) {
+                System.arraycopy(right.values, 0, values, start, right.count);
+            } else {
+                keys[count] = separator;
+                System.arraycopy(right.children, 0, children, start, right.count + 1);
+            }
+            System.arraycopy(right.keys, 0, keys, start, right.count);
+            count = start + right.count;
+        }
+    }
+
+    record Position(Node leaf, int index) {
+    }
+
+    BPlusTree(Path path, Serializer<K> keySerializer, Serializer<V> valueSerializer, Comparator<K> comparator) {
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.comparator = comparator;
+        file = new PageFile(path);
+        if (file.isCreated()) {
+            pageCount = FIRST_DATA_PAGE;
+            writeHeader(NO_PAGE);
+        } else {
+            readHeader();
+        }
+    }
+
+    private void readHeader() {
+        ByteBuffer header0 = file.page(0);
+        ByteBuffer header1 = file.page(1);
+        boolean valid0 = isValidHeader(header0);
+        boolean valid1 = isValidHeader(header1);
+        if (!valid0 && !valid1) {
+            throw new IllegalStateException("no valid B+tree header");
+        }
+        ByteBuffer header = !valid1 || valid0 && header0.getLong(GENERATION) > header1.getLong(GENERATION) ? header0
+                : header1;
+        generation = header.getLong(GENERATION);
+        root = header.getLong(ROOT);
+        size = header.getLong(SIZE);
+        pageCount = header.getLong(PAGE_COUNT);
+        loadFreeList(header.getLong(FREE_LIST_HEAD));
+    }
+
+    private static boolean isValidHeader(ByteBuffer header) {
+        CRC32C crc = new CRC32C();
+        crc.update(header.slice(0, CRC));
+        return header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getInt(8) == PAGE_SIZE
+                && header.getInt(CRC) == (int) crc.getValue();
+    }
+
+    private void writeHeader(long freeListHead) {
+        generation++;
+        ByteBuffer header = file.page(generation & 1);
+        header.putInt(MAGIC).putInt(VERSION).putInt(PAGE_SIZE).putLong(generation).putLong(root).putLong(size)
+                .putLong(pageCount).putLong(freeListHead);
+        CRC32C crc = new CRC32C();
+        crc.update(header.slice(0, CRC));
+        header.putInt((int) crc.getValue());
+        file.force(generation & 1);
+    }
+
+    private void loadFreeList(long page) {
+        while (page != NO_PAGE) {
+            freeListPages.add(page);
+            ByteBuffer buffer = file.page(page);
+            buffer.get();
+            int count = buffer.getInt();
+            page = buffer.getLong();
+            for (int i = 0; i < count; i++) {
+                free.add(buffer.getLong());
+            }
+        }
+    }
+
+    // the list is written to pages free before this commit, as the previous header may still be needed
+    private long storeFreeList() {
+        int total = free.size() + pendingFree.size() + freeListPages.size();
+        int nPages = (total + FREE_LIST_CAPACITY - 1) / FREE_LIST_CAPACITY;
+        LongList listPages = new LongArrayList(nPages);
+        for (int i = 0; i < nPages; i++) {
+            listPages.add(free.isEmpty() ? pageCount++ : free.removeAt(free.size() - 1));
+        }
+        pendingFree.stream().forEach(free::add);
+        freeListPages.stream().forEach(free::add);
+        int index = 0;
+        for (int i = 0; i < nPages; i++) {
+            ByteBuffer buffer = file.page(listPages.get(i));
+            int count = Math.min(FREE_LIST_CAPACITY, free.size() - index);
+            buffer.put(FREE_LIST).putInt(count).putLong(i + 1 < nPages ? listPages.get(i + 1) : NO_PAGE);
+            for (int j = 0; j < count; j++) {
+                buffer.putLong(free.get(index++));
+            }
+        }
+        pendingFree = new LongArrayList();
+        freeListPages = listPages;
+        return nPages == 0 ? NO_PAGE : listPages.get(0);
+    }
+
+    void commit() {
+        for (Node node : cache) {
+            if (node != null && node.dirty) {
+                write(node);
+            }
+        }
+        long freeListHead = storeFreeList();
+        file.force();
+        writeHeader(freeListHead);
+        freshPages.clear();
+    }
+
+    @Override
+    public void close() {
+        commit();
+        file.close();
+    }
+
+    private long allocatePage() {
+        return free.isEmpty() ? pageCount++ : free.removeAt(free.size() - 1);
+    }
+
+    private long allocateFreshPage() {
+        long res = allocatePage();
+        freshPages.add((int) res);
+        return res;
+    }
+
+    private boolean isFresh(Node node) {
+        return freshPages.contains((int) node.page);
+    }
+
+    private void releasePage(Node node) {
+        (freshPages.remove((int) node.page) ? free : pendingFree).add(node.page);
+        int slot = (int) (node.page % CACHE_SIZE);
+        if (cache[slot] == node) {
+            cache[slot] = null;
+        }
+    }
+
+    private Node newNode(boolean leaf) {
+        return new Node(allocateFreshPage(), leaf, 16);
+    }
+
+    private Node writable(Node node) {
+        Node res = node;
+        if (!isFresh(node)) {
+            releasePage(node);
+            res = node.copy(allocateFreshPage());
+        }
+        return res;
+    }
+
+    private Node load(long page) {
+        int slot = (int) (page % CACHE_SIZE);
+        Node res = cache[slot];
+        if (res == null || res.page != page) {
+            if (res != null && res.dirty) {
+                write(res);
+            }
+            res = decode(page);
+            cache[slot] = res;
+        }
+        return res;
+    }
+
+    private Node decode(long page) {
+        ByteBuffer buffer = file.page(page);
+        boolean leaf = buffer.get() == LEAF;
+        int count = Short.toUnsignedInt(buffer.getShort());
+        Node res = new Node(page, leaf, count + 1);
+        if (!leaf) {
+            res.children[0] = buffer.getLong();
+        }
+        for (int i = 0; i < count; i++) {
+            res.keys[i] = keySerializer.read(buffer);
+            if (leaf) {
+                res.values[i] = valueSerializer.read(buffer);
+            } else {
+                res.children[i + 1] = buffer.getLong();
+            }
+        }
+        res.count = count;
+        res.bytes = buffer.position();
+        return res;
+    }
+
+    private void store(Node node) {
+        int slot = (int) (node.page % CACHE_SIZE);
+        Node evicted = cache[slot];
+        if (evicted != null && evicted != node && evicted.dirty) {
+            write(evicted);
+        }
+        node.dirty = true;
+        cache[slot] = node;
+    }
+
+    private void write(Node node) {
+        ByteBuffer buffer = file.page(node.page);
+        buffer.put(node.leaf ? LEAF : INNER).putShort((short) node.count);
+        if (!node.leaf) {
+            buffer.putLong(node.children[0]);
+        }
+        for (int i = 0; i < node.count; i++) {
+            keySerializer.write(buffer, (K) node.keys[i]);
+            if (node.leaf) {
+                valueSerializer.write(buffer, (V) node.values[i]);
+            } else {
+                buffer.putLong(node.children[i + 1]);
+            }
+        }
+        node.dirty = false;
+    }
+
+    private int entrySize(Node node, int index) {
+        return keySerializer.size((K) node.keys[index])
+                + (node.leaf ? valueSerializer.size((V) node.values[index]) : Long.BYTES);
+    }
+
+    private int encodedSize(Node node) {
+        int res = node.leaf ? NODE_HEADER : NODE_HEADER + Long.BYTES;
+        for (int i = 0; i < node.count; i++) {
+            res += entrySize(node, i);
+        }
+        return res;
+    }
+
+    private boolean isOverflow(Node node) {
+        return node.bytes > PAGE_SIZE;
+    }
+
+    private boolean isUnderflow(Node node) {
+        return node.bytes < PAGE_SIZE / 4;
+    }
+
+    private int search(Node node, K key) {
+        return Arrays.binarySearch((K[]) node.keys, 0, node.count, key, comparator);
+    }
+
+    // the child holding the keys not less than the separator before it and less than the one after it
+    private int childIndex(Node node, K key) {
+        int index = search(node, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Position find(K key) {
+        Position res = null;
+        long page = root;
+        while (page != NO_PAGE) {
+            Node node = load(page);
+            if (node.leaf) {
+                int index = search(node, key);
+                res = index >= 0 ? new Position(node, index) : null;
+                page = NO_PAGE;
+            } else {
+                page = node.children[childIndex(node, key)];
+            }
+        }
+        return res;
+    }
+
+    V get(Object key) {
+        Position position = find((K) key);
+        return position == null ? null : (V) position.leaf.values[position.index];
+    }
+
+    K getKey(Object key) {
+        Position position = find((K) key);
+        return position == null ? null : (K) position.leaf.keys[position.index];
+    }
+
+    boolean containsKey(Object key) {
+        return find((K) key) != null;
+    }
+
+    long size() {
+        return size;
+    }
+
+    private void checkEntrySize(K key, V value) {
+        int keySize = keySerializer.size(key);
+        if (keySize + Math.max(valueSerializer.size(value), Long.BYTES) > MAX_ENTRY_SIZE) {
+            throw new IllegalArgumentException("entry too large");
+        }
+    }
+
+    V put(K key, V value) {
+        checkEntrySize(key, value);
+        lastValue = null;
+        Node node;
+        if (root == NO_PAGE) {
+            node = newNode(true);
+            node.insertLeaf(0, key, value);
+            node.bytes += keySerializer.size(key) + valueSerializer.size(value);
+            size++;
+            store(node);
+        } else {
+            node = put(load(root), key, value);
+            if (isOverflow(node)) {
+                Node newRoot = newNode(false);
+                newRoot.children[0] = node.page;
+                splitChild(newRoot, 0, node);
+                store(newRoot);
+                node = newRoot;
+            }
+        }
+        root = node.page;
+        modCount++;
+        return lastValue;
+    }
+
+    // the returned copy of the node is stored unless it overflows, then the caller splits it
+    private Node put(Node node, K key, V value) {
+        int index = search(node, key);
+        if (node.leaf) {
+            node = writable(node);
+            if (index >= 0) {
+                lastValue = (V) node.values[index];
+                node.values[index] = value;
+                node.bytes += valueSerializer.size(value) - valueSerializer.size(lastValue);
+            } else {
+                node.insertLeaf(-index - 1, key, value);
+                node.bytes += keySerializer.size(key) + valueSerializer.size(value);
+                size++;
+            }
+        } else {
+            int childIndex = index >= 0 ? index + 1 : -index - 1;
+            Node child = put(load(node.children[childIndex]), key, value);
+            node = writable(node);
+            node.children[childIndex] = child.page;
+            if (isOverflow(child)) {
+                splitChild(node, childIndex, child);
+            }
+        }
+        if (!isOverflow(node)) {
+            store(node);
+        }
+        return node;
+    }
+
+    // splits by bytes, so both halves fit a page as long as every entry fits a quarter of it
+    private void splitChild(Node parent, int childIndex, Node child) {
+        int half = (child.bytes - NODE_HEADER) / 2;
+        int middle = 0;
+        for (int bytes = 0; bytes < half; middle++) {
+            bytes += entrySize(child, middle);
+        }
+        middle = Math.clamp(middle, 1, child.leaf ? child.count - 1 : child.count - 2);
+        Node right = newNode(child.leaf);
+        Object separator;
+        if (child.leaf) {
+            right.ensureCapacity(child.count - middle);
+            right.count = child.count - middle;
+            System.arraycopy(child.keys, middle, right.keys, 0, right.count);
+            System.arraycopy(child.values, middle, right.values, 0, right.count);
+            Arrays.fill(child.values, middle, child.count, null);
+            separator = right.keys[0];
+        } else {
+            right.ensureCapacity(child.count - middle - 1);
+            right.count = child.count - middle - 1;
+            System.arraycopy(child.keys, middle + 1, right.keys, 0, right.count);
+            System.arraycopy(child.children, middle + 1, right.children, 0, right.count + 1);
+            separator = child.keys[middle];
+        }
+        Arrays.fill(child.keys, middle, child.count, null);
+        child.count = middle;
+        child.bytes = encodedSize(child);
+        right.bytes = encodedSize(right);
+        store(child);
+        store(right);
+        parent.insertInner(childIndex, separator, right.page);
+        parent.bytes += keySerializer.size((K) separator) + Long.BYTES;
+    }
+
+    V remove(Object key) {
+        V res = null;
+        if (root != NO_PAGE) {
+            lastValue = null;
+            Node node = remove(load(root), (K) key);
+            if (node != null) {
+                res = lastValue;
+                size--;
+                modCount++;
+                while (node != null && node.count == 0) {
+                    releasePage(node);
+                    node = node.leaf ? null : load(node.children[0]);
+                }
+                root = node == null ? NO_PAGE : node.page;
+            }
+        }
+        return res;
+    }
+
+    // the changed copy of the node, or null if the key is absent
+    private Node remove(Node node, K key) {
+        int index = search(node, key);
+        Node res = null;
+        if (node.leaf) {
+            if (index >= 0) {
+                res = writable(node);
+                lastValue = (V) res.values[index];
+                res.bytes -= entrySize(res, index);
+                res.removeLeaf(index);
+                store(res);
+            }
+        } else {
+            int childIndex = index >= 0 ? index + 1 : -index - 1;
+            Node child = remove(load(node.children[childIndex]), key);
+            if (child != null) {
+                res = writable(node);
+                res.children[childIndex] = child.page;
+                if (isUnderflow(child)) {
+                    mergeChild(res, childIndex, child);
+                }
+                store(res);
+            }
+        }
+        return res;
+    }
+
+    // merges the child with a sibling if both fit a page; an underflowing child is kept otherwise
+    private void mergeChild(Node parent, int childIndex, Node child) {
+        if (parent.count > 0) {
+            int leftIndex = childIndex > 0 ? childIndex - 1 : childIndex;
+            Node left = leftIndex == childIndex ? child : load(parent.children[leftIndex]);
+            Node right = leftIndex == childIndex ? load(parent.children[childIndex + 1]) : child;
+            Object separator = parent.keys[leftIndex];
+            int separatorSize = keySerializer.size((K) separator);
+            int mergedSize = left.bytes + right.bytes - NODE_HEADER + (left.leaf ? 0 : separatorSize);
+            if (mergedSize <= PAGE_SIZE) {
+                left = writable(left);
+                left.append(right, separator);
+                left.bytes = mergedSize;
+                releasePage(right);
+                parent.children[leftIndex] = left.page;
+                parent.removeInner(leftIndex);
+                parent.bytes -= separatorSize + Long.BYTES;
+                store(left);
+            }
+        }
+    }
+
+    void clear() {
+        if (root != NO_PAGE) {
+            release(load(root));
+            root = NO_PAGE;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    private void release(Node node) {
+        if (!node.leaf) {
+            for (int i = 0; i <= node.count; i++) {
+                release(load(node.children[i]));
+            }
+        }
+        releasePage(node);
+    }
+
+    // the least entry greater than the key, or not less if inclusive; the least entry for the null key
+    private Position higher(Node node, K key, boolean inclusive) {
+        Position res = null;
+        if (node.leaf) {
+            int index = key == null ? 0 : search(node, key);
+            if (index < 0) {
+                index = -index - 1;
+            } else if (key != null && !inclusive) {
+                index++;
+            }
+            res = index < node.count ? new Position(node, index) : null;
+        } else {
+            int childIndex = key == null ? 0 : childIndex(node, key);
+            res = higher(load(node.children[childIndex]), key, inclusive);
+            for (childIndex++; res == null && childIndex <= node.count; childIndex++) {
+                res = higher(load(node.children[childIndex]), null, true);
+            }
+        }
+        return res;
+    }
+
+    // the greatest entry less than the key, or not greater if inclusive; the greatest entry for the null key
+    private Position lower(Node node, K key, boolean inclusive) {
+        Position res = null;
+        if (node.leaf) {
+            int index = key == null ? node.count - 1 : search(node, key);
+            if (index < 0) {
+                index = -index - 2;
+            } else if (key != null && !inclusive) {
+                index--;
+            }
+            res = index >= 0 ? new Position(node, index) : null;
+        } else {
+            int childIndex = node.count;
+            if (key != null) {
+                int index = search(node, key);
+                childIndex = index < 0 ? -index - 1 : inclusive ? index + 1 : index;
+            }
+            res = lower(load(node.children[childIndex]), key, inclusive);
+            for (childIndex--; res == null && childIndex >= 0; childIndex--) {
+                res = lower(load(node.children[childIndex]), null, true);
+            }
+        }
+        return res;
+    }
+
+    K higherKey(K key, boolean inclusive) {
+        Position position = root == NO_PAGE ? null : higher(load(root), key, inclusive);
+        return position == null ? null : (K) position.leaf.keys[position.index];
+    }
+
+    K lowerKey(K key, boolean inclusive) {
+        Position position = root == NO_PAGE ? null : lower(load(root), key, inclusive);
+        return position == null ? null : (K) position.leaf.keys[position.index];
+    }
+
+    int compare(K key1, K key2) {
+        return comparator.compare(key1, key2);
+    }
+
+    // entries from keyFrom inclusive to keyTo exclusive, a null bound is no bound
+    <R> Iterator<R> iterator(K keyFrom, K keyTo, BiFunction<K, V, R> mapper) {
+        return new TreeIterator<>(keyFrom, keyTo, mapper);
+    }
+
+    // after a change of the tree the iterator finds its position again by the last returned key
+    private class TreeIterator<R> implements Iterator<R> {
+        final K keyFrom;
+        final K keyTo;
+        final BiFunction<K, V, R> mapper;
+        Position position;
+        K last;
+        boolean removable;
+        int expectedModCount;
+
+        TreeIterator(K keyFrom, K keyTo, BiFunction<K, V, R> mapper) {
+            this.keyFrom = keyFrom;
+            this.keyTo = keyTo;
+            this.mapper = mapper;
+            seek(keyFrom, true);
+        }
+
+        private void seek(K key, boolean inclusive) {
+            position = root == NO_PAGE ? null : higher(load(root), key, inclusive);
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (expectedModCount != modCount) {
+                if (last == null) {
+                    seek(keyFrom, true);
+                } else {
+                    seek(last, false);
+                }
+            }
+            return position != null
+                    && (keyTo == null || comparator.compare((K) position.leaf.keys[position.index], keyTo) < 0);
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node leaf = position.leaf;
+            int index = position.index;
+            last = (K) leaf.keys[index];
+            removable = true;
+            if (index + 1 < leaf.count) {
+                position = new Position(leaf, index + 1);
+            } else {
+                seek(last, false);
+            }
+            return mapper.apply(last, (V) leaf.values[index]);
+        }
+
+        @Override
+        public void remove() {
+            if (!removable) {
+                throw new IllegalStateException();
+            }
+            BPlusTree.this.remove(last);
+            removable = false;
+        }
+    }
+
+}
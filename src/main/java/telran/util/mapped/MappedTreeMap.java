@@ -0,0 +1,225 @@
+package telran.util.mapped;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import telran.util.Collection;
+import telran.util.Map;
+import telran.util.Set;
+import telran.util.SortedSet;
+import telran.util.io.Serializer;
+
+// a sorted map kept in a memory-mapped file; changes become durable by commit or close,
+// and reopening the file gives the map as of the last commit
+@SuppressWarnings("unchecked")
+public class MappedTreeMap<K, V> implements Map<K, V>, AutoCloseable {
+    private final BPlusTree<K, V> tree;
+
+    public MappedTreeMap(Path path, Serializer<K> keySerializer, Serializer<V> valueSerializer,
+            Comparator<K> comparator) {
+        tree = new BPlusTree<>(path, keySerializer, valueSerializer, comparator);
+    }
+
+    public MappedTreeMap(Path path, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this(path, keySerializer, valueSerializer, (Comparator<K>) Comparator.naturalOrder());
+    }
+
+    private class MapEntry extends Entry<K, V> {
+        MapEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public void setValue(V value) {
+            super.setValue(value);
+            put(getKey(), value);
+        }
+    }
+
+    private class EntrySet implements Set<Entry<K, V>> {
+        @Override
+        public boolean add(Entry<K, V> entry) {
+            return putIfAbsent(entry.getKey(), entry.getValue()) == null;
+        }
+
+        @Override
+        public boolean remove(Entry<K, V> pattern) {
+            return MappedTreeMap.this.remove(pattern.getKey()) != null;
+        }
+
+        @Override
+        public int size() {
+            return MappedTreeMap.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return MappedTreeMap.this.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Entry<K, V> pattern) {
+            return containsKey(pattern.getKey());
+        }
+
+        @Override
+        public Entry<K, V> get(Object pattern) {
+            K key = ((Entry<K, V>) pattern).getKey();
+            V value = tree.get(key);
+            return value == null ? null : new MapEntry(tree.getKey(key), value);
+        }
+
+        @Override
+        public void clear() {
+            tree.clear();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return entries(null, null);
+        }
+    }
+
+    private class Values implements Collection<V> {
+        @Override
+        public boolean add(V obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean remove(V pattern) {
+            Iterator<V> it = iterator();
+            boolean removed = false;
+            while (it.hasNext() && !removed) {
+                removed = Objects.equals(it.next(), pattern);
+            }
+            if (removed) {
+                it.remove();
+            }
+            return removed;
+        }
+
+        @Override
+        public int size() {
+            return MappedTreeMap.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return MappedTreeMap.this.isEmpty();
+        }
+
+        @Override
+        public boolean contains(V pattern) {
+            return containsValue(pattern);
+        }
+
+        @Override
+        public void clear() {
+            tree.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return tree.iterator(null, null, (key, value) -> value);
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        return tree.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return tree.put(key, Objects.requireNonNull(value));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return tree.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Iterator<V> it = values().iterator();
+        boolean found = false;
+        while (it.hasNext() && !found) {
+            found = Objects.equals(it.next(), value);
+        }
+        return found;
+    }
+
+    // a view of the keys; it removes mappings, but can't add them
+    @Override
+    public SortedSet<K> keySet() {
+        return new MappedTreeSet<>((BPlusTree<K, Object>) (BPlusTree<K, ?>) tree, null, null, false);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(tree.size(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tree.size() == 0;
+    }
+
+    @Override
+    public V remove(K key) {
+        return tree.remove(key);
+    }
+
+    public K firstKey() {
+        K res = tree.higherKey(null, true);
+        if (res == null) {
+            throw new NoSuchElementException();
+        }
+        return res;
+    }
+
+    public K lastKey() {
+        K res = tree.lowerKey(null, true);
+        if (res == null) {
+            throw new NoSuchElementException();
+        }
+        return res;
+    }
+
+    public K floorKey(K key) {
+        return tree.lowerKey(key, true);
+    }
+
+    public K ceilingKey(K key) {
+        return tree.higherKey(key, true);
+    }
+
+    // the entries in order of their keys from keyFrom inclusive to keyTo exclusive, a null bound is no bound
+    public Iterator<Entry<K, V>> entries(K keyFrom, K keyTo) {
+        return tree.iterator(keyFrom, keyTo, MapEntry::new);
+    }
+
+    public void commit() {
+        tree.commit();
+    }
+
+    @Override
+    public void close() {
+        tree.close();
+    }
+
+}
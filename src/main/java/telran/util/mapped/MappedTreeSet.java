@@ -0,0 +1,187 @@
+package telran.util.mapped;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import telran.util.SortedSet;
+import telran.util.io.Serializer;
+
+// a sorted set kept in a memory-mapped file; changes become durable by commit or close,
+// and reopening the file gives the set as of the last commit
+@SuppressWarnings("unchecked")
+public class MappedTreeSet<T> implements SortedSet<T>, AutoCloseable {
+    private static final Serializer<Object> PRESENT = new Serializer<>() {
+        @Override
+        public int size(Object obj) {
+            return 0;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, Object obj) {
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer) {
+            return Boolean.TRUE;
+        }
+    };
+    private final BPlusTree<T, Object> tree;
+    // keyFrom inclusive and keyTo exclusive, null for no bound
+    private final T keyFrom;
+    private final T keyTo;
+    private final boolean addable;
+
+    public MappedTreeSet(Path path, Serializer<T> serializer, Comparator<T> comparator) {
+        this(new BPlusTree<>(path, serializer, PRESENT, comparator), null, null, true);
+    }
+
+    public MappedTreeSet(Path path, Serializer<T> serializer) {
+        this(path, serializer, (Comparator<T>) Comparator.naturalOrder());
+    }
+
+    MappedTreeSet(BPlusTree<T, Object> tree, T keyFrom, T keyTo, boolean addable) {
+        this.tree = tree;
+        this.keyFrom = keyFrom;
+        this.keyTo = keyTo;
+        this.addable = addable;
+    }
+
+    private boolean isBounded() {
+        return keyFrom != null || keyTo != null;
+    }
+
+    private boolean isAboveFrom(T key) {
+        return keyFrom == null || tree.compare(key, keyFrom) >= 0;
+    }
+
+    private boolean isBelowTo(T key) {
+        return keyTo == null || tree.compare(key, keyTo) < 0;
+    }
+
+    private boolean isInRange(T key) {
+        return isAboveFrom(key) && isBelowTo(key);
+    }
+
+    @Override
+    public boolean add(T obj) {
+        if (!addable) {
+            throw new UnsupportedOperationException();
+        }
+        if (!isInRange(obj)) {
+            throw new IllegalArgumentException("key out of range");
+        }
+        return tree.put(obj, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(T pattern) {
+        return isInRange(pattern) && tree.remove(pattern) != null;
+    }
+
+    @Override
+    public int size() {
+        int res;
+        if (isBounded()) {
+            res = 0;
+            Iterator<T> it = iterator();
+            while (it.hasNext()) {
+                it.next();
+                res++;
+            }
+        } else {
+            res = (int) Math.min(tree.size(), Integer.MAX_VALUE);
+        }
+        return res;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    @Override
+    public boolean contains(T pattern) {
+        return isInRange(pattern) && tree.containsKey(pattern);
+    }
+
+    @Override
+    public T get(Object pattern) {
+        return isInRange((T) pattern) ? tree.getKey(pattern) : null;
+    }
+
+    @Override
+    public void clear() {
+        if (isBounded()) {
+            removeIf(key -> true);
+        } else {
+            tree.clear();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return tree.iterator(keyFrom, keyTo, (key, value) -> key);
+    }
+
+    @Override
+    public T first() {
+        T res = tree.higherKey(keyFrom, true);
+        if (res == null || !isBelowTo(res)) {
+            throw new NoSuchElementException();
+        }
+        return res;
+    }
+
+    @Override
+    public T last() {
+        T res = tree.lowerKey(keyTo, false);
+        if (res == null || !isAboveFrom(res)) {
+            throw new NoSuchElementException();
+        }
+        return res;
+    }
+
+    @Override
+    public T floor(T key) {
+        T res = isBelowTo(key) ? tree.lowerKey(key, true) : tree.lowerKey(keyTo, false);
+        return res != null && isAboveFrom(res) ? res : null;
+    }
+
+    @Override
+    public T ceiling(T key) {
+        T res = isAboveFrom(key) ? tree.higherKey(key, true) : tree.higherKey(keyFrom, true);
+        return res != null && isBelowTo(res) ? res : null;
+    }
+
+    @Override
+    public SortedSet<T> subSet(T keyFrom, T keyTo) {
+        T from = this.keyFrom == null || keyFrom != null && tree.compare(keyFrom, this.keyFrom) > 0 ? keyFrom
+                : this.keyFrom;
+        T to = this.keyTo == null || keyTo != null && tree.compare(keyTo, this.keyTo) < 0 ? keyTo : this.keyTo;
+        return new MappedTreeSet<>(tree, from, to, addable);
+    }
+
+    @Override
+    public SortedSet<T> headSet(T keyTo) {
+        return subSet(null, keyTo);
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T keyFrom) {
+        return subSet(keyFrom, null);
+    }
+
+    public void commit() {
+        tree.commit();
+    }
+
+    // closes the file shared by the set and its views
+    @Override
+    public void close() {
+        tree.close();
+    }
+
+}
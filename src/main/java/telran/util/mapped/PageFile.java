@@ -0,0 +1,74 @@
+package telran.util.mapped;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import telran.util.ArrayList;
+import telran.util.List;
+
+// fixed-size pages of a file mapped in chunks on first access
+class PageFile implements AutoCloseable {
+    static final int PAGE_SIZE = 4096;
+    private static final int CHUNK_PAGES = 1024;
+    private static final long CHUNK_SIZE = (long) PAGE_SIZE * CHUNK_PAGES;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private final boolean created;
+
+    PageFile(Path path) {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            created = channel.size() == 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    boolean isCreated() {
+        return created;
+    }
+
+    ByteBuffer page(long page) {
+        int chunk = (int) (page / CHUNK_PAGES);
+        while (chunks.size() <= chunk) {
+            chunks.add(map(chunks.size()));
+        }
+        return chunks.get(chunk).slice((int) (page % CHUNK_PAGES) * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    private MappedByteBuffer map(int chunk) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, chunk * CHUNK_SIZE, CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    void force(long page) {
+        page(page);
+        chunks.get((int) (page / CHUNK_PAGES)).force((int) (page % CHUNK_PAGES) * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Override
+    public void close() {
+        try {
+            chunks.clear();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
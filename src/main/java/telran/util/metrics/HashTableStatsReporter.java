@@ -0,0 +1,78 @@
+package telran.util.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import telran.util.HashMap;
+import telran.util.HashSet;
+import telran.util.HashTableStats;
+import telran.util.Map.Entry;
+import telran.util.concurrent.ConcurrentHashMap;
+
+// logs the statistics of the registered hash tables periodically, as warnings for tables with long probes;
+// the tables are read from the reporter thread without locking, so the figures are approximate
+public final class HashTableStatsReporter implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(HashTableStatsReporter.class);
+    private static final int DEFAULT_WARN_PROBE_LENGTH = 32;
+    private final ConcurrentHashMap<String, Supplier<HashTableStats>> tables = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final int warnProbeLength;
+
+    public HashTableStatsReporter(long period, TimeUnit unit, int warnProbeLength) {
+        this.warnProbeLength = warnProbeLength;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hash-table-stats-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::report, period, period, unit);
+    }
+
+    public HashTableStatsReporter(long period, TimeUnit unit) {
+        this(period, unit, DEFAULT_WARN_PROBE_LENGTH);
+    }
+
+    public void register(String name, HashSet<?> set) {
+        tables.put(name, set::stats);
+    }
+
+    public void register(String name, HashMap<?, ?> map) {
+        tables.put(name, map::stats);
+    }
+
+    public void unregister(String name) {
+        tables.remove(name);
+    }
+
+    // returns the number of the tables with probes longer than the warning length
+    public int report() {
+        int nWarnings = 0;
+        for (Entry<String, Supplier<HashTableStats>> entry : tables.entrySet()) {
+            try {
+                HashTableStats stats = entry.getValue().get();
+                if (stats.maxProbeLength() > warnProbeLength) {
+                    LOG.warn("hash table {} has long probes, check the hash codes of its keys: {}", entry.getKey(),
+                            stats);
+                    nWarnings++;
+                } else {
+                    LOG.info("hash table {}: {}", entry.getKey(), stats);
+                }
+            } catch (RuntimeException e) {
+                // an exception escaping the scheduled task would cancel its later runs
+                LOG.error("hash table {}: statistics failed", entry.getKey(), e);
+            }
+        }
+        return nWarnings;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,240 @@
+package telran.util.offheap;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import telran.util.List;
+
+// records live in native memory freed by close(); a growth moves them to a new segment
+// and frees the old one, so record segments taken before it are no longer accessible
+public class OffHeapRecordList<T> implements List<T>, AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 16;
+    private final RecordCodec<T> codec;
+    private final long recordSize;
+    private Arena arena;
+    private MemorySegment segment;
+    private int capacity;
+    private int size;
+
+    public OffHeapRecordList(RecordCodec<T> codec, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.codec = codec;
+        recordSize = codec.layout().byteSize();
+        if (recordSize == 0) {
+            throw new IllegalArgumentException("empty record layout");
+        }
+        reallocate(Math.max(capacity, 1));
+    }
+
+    public OffHeapRecordList(RecordCodec<T> codec) {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    private void reallocate(int newCapacity) {
+        Arena newArena = Arena.ofShared();
+        MemorySegment newSegment = newArena.allocate(MemoryLayout.sequenceLayout(newCapacity, codec.layout()));
+        if (segment != null) {
+            MemorySegment.copy(segment, 0, newSegment, 0, size * recordSize);
+            arena.close();
+        }
+        arena = newArena;
+        segment = newSegment;
+        capacity = newCapacity;
+    }
+
+    private void ensureCapacity() {
+        if (size == capacity) {
+            if (capacity == Integer.MAX_VALUE) {
+                throw new IllegalStateException("list is full");
+            }
+            reallocate((int) Math.min(2L * capacity, Integer.MAX_VALUE));
+        }
+    }
+
+    private long offset(int index) {
+        return index * recordSize;
+    }
+
+    private MemorySegment recordAt(int index) {
+        return segment.asSlice(offset(index), recordSize);
+    }
+
+    // the record itself rather than a decoded copy, for reading or updating separate fields
+    public MemorySegment record(int index) {
+        checkIndex(index, false);
+        return recordAt(index);
+    }
+
+    public void forEachRecord(Consumer<MemorySegment> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(recordAt(i));
+        }
+    }
+
+    public void set(int index, T obj) {
+        checkIndex(index, false);
+        codec.write(recordAt(index), Objects.requireNonNull(obj));
+    }
+
+    @Override
+    public boolean add(T obj) {
+        Objects.requireNonNull(obj);
+        ensureCapacity();
+        codec.write(recordAt(size), obj);
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T obj) {
+        checkIndex(index, true);
+        Objects.requireNonNull(obj);
+        ensureCapacity();
+        MemorySegment.copy(segment, offset(index), segment, offset(index + 1), offset(size - index));
+        codec.write(recordAt(index), obj);
+        size++;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkIndex(index, false);
+        T removed = codec.read(recordAt(index));
+        MemorySegment.copy(segment, offset(index + 1), segment, offset(index), offset(size - index - 1));
+        size--;
+        return removed;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, false);
+        return codec.read(recordAt(index));
+    }
+
+    // compares the encoded pattern with the records' bytes without decoding them
+    @Override
+    public int indexOf(T pattern) {
+        int index = -1;
+        if (pattern != null) {
+            try (Arena patternArena = Arena.ofConfined()) {
+                MemorySegment patternRecord = encode(pattern, patternArena);
+                index = 0;
+                while (index < size && !isEqual(index, patternRecord)) {
+                    index++;
+                }
+                if (index == size) {
+                    index = -1;
+                }
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public int lastIndexOf(T pattern) {
+        int index = -1;
+        if (pattern != null) {
+            try (Arena patternArena = Arena.ofConfined()) {
+                MemorySegment patternRecord = encode(pattern, patternArena);
+                index = size - 1;
+                while (index >= 0 && !isEqual(index, patternRecord)) {
+                    index--;
+                }
+            }
+        }
+        return index;
+    }
+
+    private MemorySegment encode(T obj, Arena arena) {
+        MemorySegment res = arena.allocate(codec.layout());
+        codec.write(res, obj);
+        return res;
+    }
+
+    private boolean isEqual(int index, MemorySegment patternRecord) {
+        long offset = offset(index);
+        return MemorySegment.mismatch(segment, offset, offset + recordSize, patternRecord, 0, recordSize) < 0;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!predicate.test(codec.read(recordAt(i)))) {
+                if (newSize != i) {
+                    MemorySegment.copy(segment, offset(i), segment, offset(newSize), recordSize);
+                }
+                newSize++;
+            }
+        }
+        boolean removed = newSize < size;
+        size = newSize;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+            private boolean flNext = false;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                flNext = true;
+                return codec.read(recordAt(index++));
+            }
+
+            @Override
+            public void remove() {
+                if (!flNext) {
+                    throw new IllegalStateException();
+                }
+                OffHeapRecordList.this.remove(--index);
+                flNext = false;
+            }
+        };
+    }
+
+    public boolean isOpen() {
+        return arena.scope().isAlive();
+    }
+
+    @Override
+    public void close() {
+        if (isOpen()) {
+            arena.close();
+            size = 0;
+        }
+    }
+
+}
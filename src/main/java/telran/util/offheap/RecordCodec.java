@@ -0,0 +1,13 @@
+package telran.util.offheap;
+
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+
+// maps objects to fixed-width records; two objects are equal only when their records have equal bytes
+public interface RecordCodec<T> {
+    MemoryLayout layout();
+
+    void write(MemorySegment record, T obj);
+
+    T read(MemorySegment record);
+}
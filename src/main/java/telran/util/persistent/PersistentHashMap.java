@@ -0,0 +1,460 @@
+package telran.util.persistent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import telran.util.Collection;
+import telran.util.Map;
+import telran.util.Set;
+
+// an immutable hash array mapped trie: each level takes 5 bits of the hash and keeps only the occupied
+// of its 32 slots, marked in a bitmap. with and without copy the O(log32 n) nodes on the path to the key
+// and share the rest, so a version is never changed and may be published to other threads as is
+@SuppressWarnings("unchecked")
+public final class PersistentHashMap<K, V> implements Map<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+    private final Node root;
+    private final int size;
+
+    private static class Leaf {
+        final int hash;
+        final Object key;
+        final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static abstract class Node {
+        abstract Leaf find(Object key, int hash, int shift);
+
+        // the node itself when the key already has the value, the added flag is set for a new key
+        abstract Node with(Leaf leaf, int shift, boolean[] added);
+
+        // the node itself when the key is absent, null when the node becomes empty
+        abstract Node without(Object key, int hash, int shift);
+
+        // the leaves and the child nodes of the node
+        abstract Object[] slots();
+    }
+
+    // the slots hold leaves and child nodes in the order of their bits in the bitmap
+    private static class BitmapNode extends Node {
+        final int bitmap;
+        final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Leaf find(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            Leaf res = null;
+            if ((bitmap & bit) != 0) {
+                Object slot = slots[index(bit)];
+                if (slot instanceof Node node) {
+                    res = node.find(key, hash, shift + BITS);
+                } else if (((Leaf) slot).hash == hash && ((Leaf) slot).key.equals(key)) {
+                    res = (Leaf) slot;
+                }
+            }
+            return res;
+        }
+
+        @Override
+        Node with(Leaf leaf, int shift, boolean[] added) {
+            int bit = bit(leaf.hash, shift);
+            int index = index(bit);
+            Node res;
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                newSlots[index] = leaf;
+                System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+                added[0] = true;
+                res = new BitmapNode(bitmap | bit, newSlots);
+            } else {
+                Object slot = slots[index];
+                Object newSlot;
+                if (slot instanceof Node node) {
+                    newSlot = node.with(leaf, shift + BITS, added);
+                } else {
+                    Leaf existing = (Leaf) slot;
+                    if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                        newSlot = existing.value == leaf.value ? existing : leaf;
+                    } else {
+                        added[0] = true;
+                        newSlot = merge(existing, leaf, shift + BITS);
+                    }
+                }
+                res = newSlot == slot ? this : replace(index, newSlot);
+            }
+            return res;
+        }
+
+        private BitmapNode replace(int index, Object newSlot) {
+            Object[] newSlots = slots.clone();
+            newSlots[index] = newSlot;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        @Override
+        Node without(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            Node res = this;
+            if ((bitmap & bit) != 0) {
+                int index = index(bit);
+                Object slot = slots[index];
+                if (slot instanceof Node node) {
+                    Node newNode = node.without(key, hash, shift + BITS);
+                    if (newNode == null) {
+                        res = remove(bit, index);
+                    } else if (newNode != node) {
+                        // a child left with a single leaf is replaced by the leaf, keeping the trie compact
+                        Object[] childSlots = newNode.slots();
+                        res = replace(index, childSlots.length == 1 && childSlots[0] instanceof Leaf ? childSlots[0]
+                                : newNode);
+                    }
+                } else if (((Leaf) slot).hash == hash && ((Leaf) slot).key.equals(key)) {
+                    res = remove(bit, index);
+                }
+            }
+            return res;
+        }
+
+        private BitmapNode remove(int bit, int index) {
+            BitmapNode res = null;
+            if (slots.length > 1) {
+                Object[] newSlots = new Object[slots.length - 1];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+                res = new BitmapNode(bitmap & ~bit, newSlots);
+            }
+            return res;
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+    }
+
+    // the leaves of keys with equal hashes
+    private static class CollisionNode extends Node {
+        final int hash;
+        final Leaf[] leaves;
+
+        CollisionNode(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        private int indexOf(Object key) {
+            int index = 0;
+            while (index < leaves.length && !leaves[index].key.equals(key)) {
+                index++;
+            }
+            return index == leaves.length ? -1 : index;
+        }
+
+        @Override
+        Leaf find(Object key, int hash, int shift) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            return index < 0 ? null : leaves[index];
+        }
+
+        @Override
+        Node with(Leaf leaf, int shift, boolean[] added) {
+            Node res;
+            if (leaf.hash != hash) {
+                added[0] = true;
+                res = merge(this, hash, leaf, leaf.hash, shift);
+            } else {
+                int index = indexOf(leaf.key);
+                Leaf[] newLeaves;
+                if (index < 0) {
+                    newLeaves = Arrays.copyOf(leaves, leaves.length + 1);
+                    newLeaves[leaves.length] = leaf;
+                    added[0] = true;
+                } else {
+                    newLeaves = leaves.clone();
+                    newLeaves[index] = leaf;
+                }
+                res = index >= 0 && leaves[index].value == leaf.value ? this : new CollisionNode(hash, newLeaves);
+            }
+            return res;
+        }
+
+        @Override
+        Node without(Object key, int hash, int shift) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            Node res = this;
+            if (index >= 0) {
+                Leaf[] newLeaves = new Leaf[leaves.length - 1];
+                System.arraycopy(leaves, 0, newLeaves, 0, index);
+                System.arraycopy(leaves, index + 1, newLeaves, index, leaves.length - index - 1);
+                res = newLeaves.length == 0 ? null : new CollisionNode(hash, newLeaves);
+            }
+            return res;
+        }
+
+        @Override
+        Object[] slots() {
+            return leaves;
+        }
+    }
+
+    private static Node merge(Leaf leaf1, Leaf leaf2, int shift) {
+        return leaf1.hash == leaf2.hash ? new CollisionNode(leaf1.hash, new Leaf[] { leaf1, leaf2 })
+                : merge(leaf1, leaf1.hash, leaf2, leaf2.hash, shift);
+    }
+
+    // a node at the shift holding two slots of different hashes
+    private static Node merge(Object slot1, int hash1, Object slot2, int hash2, int shift) {
+        int index1 = (hash1 >>> shift) & MASK;
+        int index2 = (hash2 >>> shift) & MASK;
+        Node res;
+        if (index1 == index2) {
+            res = new BitmapNode(1 << index1, new Object[] { merge(slot1, hash1, slot2, hash2, shift + BITS) });
+        } else {
+            res = new BitmapNode((1 << index1) | (1 << index2),
+                    index1 < index2 ? new Object[] { slot1, slot2 } : new Object[] { slot2, slot1 });
+        }
+        return res;
+    }
+
+    private static int hash(Object key) {
+        int hashCode = key.hashCode();
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    // a version with the key mapped to the value
+    public PersistentHashMap<K, V> with(K key, V value) {
+        Leaf leaf = new Leaf(hash(key), key, Objects.requireNonNull(value));
+        boolean[] added = { false };
+        Node newRoot = root == null ? new BitmapNode(1 << (leaf.hash & MASK), new Object[] { leaf })
+                : root.with(leaf, 0, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, root == null || added[0] ? size + 1 : size);
+    }
+
+    // a version without the key
+    public PersistentHashMap<K, V> without(K key) {
+        Node newRoot = root == null ? null : root.without(key, hash(key), 0);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    private Leaf find(Object key) {
+        return root == null || key == null ? null : root.find(key, hash(key), 0);
+    }
+
+    @Override
+    public V get(Object key) {
+        Leaf leaf = find(key);
+        return leaf == null ? null : (V) leaf.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Iterator<V> it = values().iterator();
+        boolean found = false;
+        while (it.hasNext() && !found) {
+            found = Objects.equals(it.next(), value);
+        }
+        return found;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException("use with");
+    }
+
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException("use without");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // visits the leaves depth first, keeping the path of the nodes and the positions in them
+    private class LeafIterator<T> implements Iterator<T> {
+        private final Object[][] nodes = new Object[Integer.SIZE / BITS + 2][];
+        private final int[] indexes = new int[nodes.length];
+        private final Function<Leaf, T> mapper;
+        private int depth = -1;
+        private Leaf next;
+
+        LeafIterator(Function<Leaf, T> mapper) {
+            this.mapper = mapper;
+            if (root != null) {
+                nodes[++depth] = root.slots();
+            }
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && depth >= 0) {
+                if (indexes[depth] == nodes[depth].length) {
+                    depth--;
+                } else {
+                    Object slot = nodes[depth][indexes[depth]++];
+                    if (slot instanceof Node node) {
+                        nodes[++depth] = node.slots();
+                        indexes[depth] = 0;
+                    } else {
+                        next = (Leaf) slot;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T res = mapper.apply(next);
+            advance();
+            return res;
+        }
+    }
+
+    // views over this version; they share it without copying and can't change it
+    private abstract class View<T> implements Collection<T> {
+        @Override
+        public boolean add(T obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean remove(T pattern) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeIf(Predicate<T> predicate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    private class KeySet extends View<K> implements Set<K> {
+        @Override
+        public boolean contains(K pattern) {
+            return containsKey(pattern);
+        }
+
+        @Override
+        public K get(Object pattern) {
+            Leaf leaf = find(pattern);
+            return leaf == null ? null : (K) leaf.key;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new LeafIterator<>(leaf -> (K) leaf.key);
+        }
+    }
+
+    // the entries are copies, setting their values doesn't change the map
+    private class EntrySet extends View<Entry<K, V>> implements Set<Entry<K, V>> {
+        @Override
+        public boolean contains(Entry<K, V> pattern) {
+            return containsKey(pattern.getKey());
+        }
+
+        @Override
+        public Entry<K, V> get(Object pattern) {
+            Leaf leaf = find(((Entry<K, V>) pattern).getKey());
+            return leaf == null ? null : new Entry<>((K) leaf.key, (V) leaf.value);
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new LeafIterator<>(leaf -> new Entry<>((K) leaf.key, (V) leaf.value));
+        }
+    }
+
+    private class Values extends View<V> {
+        @Override
+        public boolean contains(V pattern) {
+            return containsValue(pattern);
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new LeafIterator<>(leaf -> (V) leaf.value);
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new Values();
+    }
+
+}
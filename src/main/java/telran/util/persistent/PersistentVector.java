@@ -0,0 +1,257 @@
+package telran.util.persistent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import telran.util.List;
+
+// an immutable 32-way trie of the elements by their indexes with the last up to 32 elements in a tail array;
+// with, withoutLast and the replacing with copy the O(log32 n) arrays on one path and share the rest,
+// so a version is never changed and may be published to other threads as is
+@SuppressWarnings("unchecked")
+public final class PersistentVector<T> implements List<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+    private final int size;
+    // bits of the index above the lowest level of the trie
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T> PersistentVector<T> of(T... elements) {
+        PersistentVector<T> res = empty();
+        for (T obj : elements) {
+            res = res.with(obj);
+        }
+        return res;
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    // the array of 32 elements holding the element at the index
+    private Object[] arrayFor(int index) {
+        Object[] node = tail;
+        if (index < tailOffset()) {
+            node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Object[]) node[(index >>> level) & MASK];
+            }
+        }
+        return node;
+    }
+
+    // a version with the element appended
+    public PersistentVector<T> with(T obj) {
+        PersistentVector<T> res;
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = obj;
+            res = new PersistentVector<>(size + 1, shift, root, newTail);
+        } else {
+            Object[] newRoot;
+            int newShift = shift;
+            if ((size >>> BITS) > (1 << shift)) {
+                newRoot = new Object[WIDTH];
+                newRoot[0] = root;
+                newRoot[1] = newPath(shift, tail);
+                newShift += BITS;
+            } else {
+                newRoot = pushTail(shift, root, tail);
+            }
+            res = new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { obj });
+        }
+        return res;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] res = parent.clone();
+        Object[] child = (Object[]) parent[subIndex];
+        res[subIndex] = level == BITS ? tailNode
+                : child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        return res;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        Object[] res = node;
+        if (level > 0) {
+            res = new Object[WIDTH];
+            res[0] = newPath(level - BITS, node);
+        }
+        return res;
+    }
+
+    // a version with the element at the index replaced
+    public PersistentVector<T> with(int index, T obj) {
+        checkIndex(index, false);
+        PersistentVector<T> res;
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = obj;
+            res = new PersistentVector<>(size, shift, root, newTail);
+        } else {
+            res = new PersistentVector<>(size, shift, replace(shift, root, index, obj), tail);
+        }
+        return res;
+    }
+
+    private static Object[] replace(int level, Object[] node, int index, Object obj) {
+        Object[] res = node.clone();
+        if (level == 0) {
+            res[index & MASK] = obj;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            res[subIndex] = replace(level - BITS, (Object[]) node[subIndex], index, obj);
+        }
+        return res;
+    }
+
+    // a version without the last element
+    public PersistentVector<T> withoutLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        PersistentVector<T> res;
+        if (size == 1) {
+            res = empty();
+        } else if (size - tailOffset() > 1) {
+            res = new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        } else {
+            Object[] newTail = arrayFor(size - 2);
+            Object[] newRoot = popTail(shift, root);
+            int newShift = shift;
+            if (newRoot == null) {
+                newRoot = EMPTY_NODE;
+            }
+            if (shift > BITS && newRoot[1] == null) {
+                newRoot = (Object[]) newRoot[0];
+                newShift -= BITS;
+            }
+            res = new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+        }
+        return res;
+    }
+
+    // the node without its path to the last array of the trie, null when nothing remains of it
+    private Object[] popTail(int level, Object[] node) {
+        int subIndex = ((size - 2) >>> level) & MASK;
+        Object[] res = null;
+        if (level > BITS) {
+            Object[] newChild = popTail(level - BITS, (Object[]) node[subIndex]);
+            if (newChild != null || subIndex != 0) {
+                res = node.clone();
+                res[subIndex] = newChild;
+            }
+        } else if (subIndex != 0) {
+            res = node.clone();
+            res[subIndex] = null;
+        }
+        return res;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, false);
+        return (T) arrayFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int indexOf(T pattern) {
+        int index = 0;
+        Iterator<T> it = iterator();
+        while (it.hasNext() && !Objects.equals(it.next(), pattern)) {
+            index++;
+        }
+        return index == size ? -1 : index;
+    }
+
+    @Override
+    public int lastIndexOf(T pattern) {
+        int index = size - 1;
+        while (index >= 0 && !Objects.equals(get(index), pattern)) {
+            index--;
+        }
+        return index;
+    }
+
+    @Override
+    public boolean add(T obj) {
+        throw new UnsupportedOperationException("use with");
+    }
+
+    @Override
+    public void add(int index, T obj) {
+        throw new UnsupportedOperationException("use with");
+    }
+
+    @Override
+    public T remove(int index) {
+        throw new UnsupportedOperationException("use withoutLast");
+    }
+
+    @Override
+    public boolean remove(T pattern) {
+        throw new UnsupportedOperationException("use withoutLast");
+    }
+
+    @Override
+    public boolean removeIf(Predicate<T> predicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    // passes the arrays of 32 elements one by one
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            int index;
+            Object[] array;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0) {
+                    array = arrayFor(index);
+                }
+                return (T) array[index++ & MASK];
+            }
+        };
+    }
+
+}
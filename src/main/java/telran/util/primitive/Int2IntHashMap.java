@@ -0,0 +1,210 @@
+package telran.util.primitive;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class Int2IntHashMap implements Int2IntMap {
+    private static final int DEFAULT_HASH_TABLE_LENGTH = 16;
+    private static final float DEFAULT_FACTOR = 0.75f;
+    private static final int FREE = 0;
+    int[] keys;
+    int[] values;
+    float factor;
+    int size;
+    final int missingValue;
+    // FREE marks empty slots, so the mapping of the key 0 is kept outside of the table
+    boolean containsFreeKey;
+    int freeKeyValue;
+
+    public Int2IntHashMap(int hashTableLength, float factor, int missingValue) {
+        if (hashTableLength < 0 || factor <= 0 || factor >= 1) {
+            throw new IllegalArgumentException();
+        }
+        int length = IntHashSet.getTableLength(hashTableLength);
+        keys = new int[length];
+        values = new int[length];
+        this.factor = factor;
+        this.missingValue = missingValue;
+    }
+
+    public Int2IntHashMap(int missingValue) {
+        this(DEFAULT_HASH_TABLE_LENGTH, DEFAULT_FACTOR, missingValue);
+    }
+
+    public Int2IntHashMap() {
+        this(0);
+    }
+
+    @Override
+    public int getMissingValue() {
+        return missingValue;
+    }
+
+    private int getIndex(int key) {
+        int mask = keys.length - 1;
+        int index = IntHashSet.hash(key) & mask;
+        while (keys[index] != FREE && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    // index of the slot holding the key after inserting it with the initial value when absent
+    private int getOrCreateIndex(int key, int initialValue) {
+        int index = getIndex(key);
+        if (keys[index] == FREE) {
+            int tableSize = containsFreeKey ? size - 1 : size;
+            if (tableSize >= keys.length * factor || tableSize + 1 == keys.length) {
+                hashTableReallocation();
+                index = getIndex(key);
+            }
+            keys[index] = key;
+            values[index] = initialValue;
+            size++;
+        }
+        return index;
+    }
+
+    private void hashTableReallocation() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int index = getIndex(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public int get(int key) {
+        int res = missingValue;
+        if (key == FREE) {
+            if (containsFreeKey) {
+                res = freeKeyValue;
+            }
+        } else {
+            int index = getIndex(key);
+            if (keys[index] != FREE) {
+                res = values[index];
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public int put(int key, int value) {
+        int res;
+        if (key == FREE) {
+            res = containsFreeKey ? freeKeyValue : missingValue;
+            if (!containsFreeKey) {
+                containsFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+        } else {
+            int index = getOrCreateIndex(key, missingValue);
+            res = values[index];
+            values[index] = value;
+        }
+        return res;
+    }
+
+    @Override
+    public int addTo(int key, int delta) {
+        int res;
+        if (key == FREE) {
+            if (!containsFreeKey) {
+                containsFreeKey = true;
+                freeKeyValue = 0;
+                size++;
+            }
+            res = freeKeyValue += delta;
+        } else {
+            int index = getOrCreateIndex(key, 0);
+            res = values[index] += delta;
+        }
+        return res;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return key == FREE ? containsFreeKey : keys[getIndex(key)] != FREE;
+    }
+
+    @Override
+    public boolean containsValue(int value) {
+        return values().anyMatch(v -> v == value);
+    }
+
+    @Override
+    public IntStream keys() {
+        IntStream res = Arrays.stream(keys).filter(key -> key != FREE);
+        return containsFreeKey ? IntStream.concat(IntStream.of(FREE), res) : res;
+    }
+
+    @Override
+    public IntStream values() {
+        int[] keys = this.keys;
+        int[] values = this.values;
+        IntStream res = IntStream.range(0, keys.length).filter(i -> keys[i] != FREE).map(i -> values[i]);
+        return containsFreeKey ? IntStream.concat(IntStream.of(freeKeyValue), res) : res;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int remove(int key) {
+        int res = missingValue;
+        if (key == FREE) {
+            if (containsFreeKey) {
+                res = freeKeyValue;
+                containsFreeKey = false;
+                size--;
+            }
+        } else {
+            int index = getIndex(key);
+            if (keys[index] != FREE) {
+                res = values[index];
+                removeAt(index);
+            }
+        }
+        return res;
+    }
+
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        int hole = index;
+        int current = (index + 1) & mask;
+        while (keys[current] != FREE) {
+            int home = IntHashSet.hash(keys[current]) & mask;
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                keys[hole] = keys[current];
+                values[hole] = values[current];
+                hole = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[hole] = FREE;
+        size--;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        containsFreeKey = false;
+        size = 0;
+    }
+
+}
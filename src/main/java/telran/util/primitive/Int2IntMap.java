@@ -0,0 +1,42 @@
+package telran.util.primitive;
+
+import java.util.stream.IntStream;
+
+public interface Int2IntMap {
+    int getMissingValue();
+
+    int get(int key);
+
+    default int getOrDefault(int key, int defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    int put(int key, int value);
+
+    default int putIfAbsent(int key, int value) {
+        int res = get(key);
+        if (!containsKey(key)) {
+            res = put(key, value);
+        }
+        return res;
+    }
+
+    // adds delta to the value of the key, absent keys start from 0
+    int addTo(int key, int delta);
+
+    boolean containsKey(int key);
+
+    boolean containsValue(int value);
+
+    IntStream keys();
+
+    IntStream values();
+
+    int size();
+
+    boolean isEmpty();
+
+    int remove(int key);
+
+    void clear();
+}
@@ -0,0 +1,150 @@
+package telran.util.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+public class IntArrayList implements IntList {
+    private static final int DEFAULT_CAPACITY = 16;
+    private int[] array;
+    private int size;
+
+    public IntArrayList(int capacity) {
+        array = new int[capacity];
+    }
+
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private void reallocate() {
+        array = Arrays.copyOf(array, Math.max(array.length * 2, 1));
+    }
+
+    @Override
+    public int removeAt(int index) {
+        checkIndex(index, false);
+        int removed = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    @Override
+    public int indexOf(int value) {
+        int index = 0;
+        while (index < size && array[index] != value) {
+            index++;
+        }
+        return index == size ? -1 : index;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = 0;
+            private boolean flNext = false;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                flNext = true;
+                return array[index++];
+            }
+
+            @Override
+            public void remove() {
+                if (!flNext) {
+                    throw new IllegalStateException();
+                }
+                IntArrayList.this.removeAt(--index);
+                flNext = false;
+            }
+
+        };
+    }
+
+    @Override
+    public boolean removeIf(IntPredicate predicate) {
+        int newIndex = 0;
+        for (int currentIndex = 0; currentIndex < size; currentIndex++) {
+            int element = array[currentIndex];
+            if (!predicate.test(element)) {
+                array[newIndex++] = element;
+            }
+        }
+        boolean removed = newIndex < size;
+        size = newIndex;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (size == array.length) {
+            reallocate();
+        }
+        array[size++] = value;
+        return true;
+    }
+
+    @Override
+    public void add(int index, int value) {
+        checkIndex(index, true);
+        if (size == array.length) {
+            reallocate();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    @Override
+    public int get(int index) {
+        checkIndex(index, false);
+        return array[index];
+    }
+
+    @Override
+    public int lastIndexOf(int value) {
+        int index = size - 1;
+        while (index >= 0 && array[index] != value) {
+            index--;
+        }
+        return index;
+    }
+
+    @Override
+    public IntStream stream() {
+        return Arrays.stream(array, 0, size);
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+}
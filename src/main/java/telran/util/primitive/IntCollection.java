@@ -0,0 +1,47 @@
+package telran.util.primitive;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+public interface IntCollection {
+
+    default boolean removeIf(IntPredicate predicate) {
+        int oldSize = size();
+        PrimitiveIterator.OfInt it = iterator();
+        while (it.hasNext()) {
+            if (predicate.test(it.nextInt())) {
+                it.remove();
+            }
+        }
+        return size() < oldSize;
+    }
+
+    default void clear() {
+        removeIf(n -> true);
+    }
+
+    boolean add(int value);
+
+    boolean remove(int value);
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(int value);
+
+    PrimitiveIterator.OfInt iterator();
+
+    default IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED), false);
+    }
+
+    default int[] toArray() {
+        return stream().toArray();
+    }
+
+}
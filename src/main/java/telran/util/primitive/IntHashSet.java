@@ -0,0 +1,230 @@
+package telran.util.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+public class IntHashSet implements IntSet {
+    private static final int DEFAULT_HASH_TABLE_LENGTH = 16;
+    private static final float DEFAULT_FACTOR = 0.75f;
+    private static final int FREE = 0;
+    int[] hashTable;
+    float factor;
+    int size;
+    // FREE marks empty slots, so the value 0 itself is kept outside of the table
+    boolean containsFree;
+
+    private class IntHashSetIterator implements PrimitiveIterator.OfInt {
+        int index = containsFree ? -1 : 0;
+        int lastIndex = Integer.MIN_VALUE;
+        IntList returnedAgain;
+
+        @Override
+        public boolean hasNext() {
+            while (index >= 0 && index < hashTable.length
+                    && (hashTable[index] == FREE || isReturnedAgain(hashTable[index]))) {
+                index++;
+            }
+            return index < hashTable.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastIndex = index++;
+            return lastIndex < 0 ? FREE : hashTable[lastIndex];
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex == Integer.MIN_VALUE) {
+                throw new IllegalStateException();
+            }
+            if (lastIndex < 0) {
+                containsFree = false;
+                size--;
+            } else {
+                int wrapped = removeAt(lastIndex);
+                if (wrapped != FREE) {
+                    if (returnedAgain == null) {
+                        returnedAgain = new IntArrayList(1);
+                    }
+                    returnedAgain.add(wrapped);
+                }
+                index = lastIndex;
+            }
+            lastIndex = Integer.MIN_VALUE;
+        }
+
+        private boolean isReturnedAgain(int value) {
+            return returnedAgain != null && returnedAgain.remove(value);
+        }
+    }
+
+    public IntHashSet(int hashTableLength, float factor) {
+        if (hashTableLength < 0 || factor <= 0 || factor >= 1) {
+            throw new IllegalArgumentException();
+        }
+        hashTable = new int[getTableLength(hashTableLength)];
+        this.factor = factor;
+    }
+
+    public IntHashSet() {
+        this(DEFAULT_HASH_TABLE_LENGTH, DEFAULT_FACTOR);
+    }
+
+    static int getTableLength(int length) {
+        int res = 2;
+        while (res < length && res < (1 << 30)) {
+            res <<= 1;
+        }
+        return res;
+    }
+
+    static int hash(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private int getIndex(int value) {
+        int mask = hashTable.length - 1;
+        int index = hash(value) & mask;
+        while (hashTable[index] != FREE && hashTable[index] != value) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    @Override
+    public boolean add(int value) {
+        boolean res = false;
+        if (value == FREE) {
+            res = !containsFree;
+            containsFree = true;
+        } else {
+            int index = getIndex(value);
+            if (hashTable[index] == FREE) {
+                res = true;
+                int tableSize = containsFree ? size - 1 : size;
+                if (tableSize >= hashTable.length * factor || tableSize + 1 == hashTable.length) {
+                    hashTableReallocation();
+                    index = getIndex(value);
+                }
+                hashTable[index] = value;
+            }
+        }
+        if (res) {
+            size++;
+        }
+        return res;
+    }
+
+    private void hashTableReallocation() {
+        int[] oldTable = hashTable;
+        hashTable = new int[oldTable.length * 2];
+        for (int value : oldTable) {
+            if (value != FREE) {
+                hashTable[getIndex(value)] = value;
+            }
+        }
+    }
+
+    private int removeAt(int index) {
+        int mask = hashTable.length - 1;
+        int hole = index;
+        int current = (index + 1) & mask;
+        int wrapped = FREE;
+        while (hashTable[current] != FREE) {
+            int home = hash(hashTable[current]) & mask;
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                if (current < hole) {
+                    wrapped = hashTable[current];
+                }
+                hashTable[hole] = hashTable[current];
+                hole = current;
+            }
+            current = (current + 1) & mask;
+        }
+        hashTable[hole] = FREE;
+        size--;
+        return wrapped;
+    }
+
+    @Override
+    public boolean remove(int value) {
+        boolean removed = false;
+        if (value == FREE) {
+            removed = containsFree;
+            containsFree = false;
+            if (removed) {
+                size--;
+            }
+        } else {
+            int index = getIndex(value);
+            if (hashTable[index] != FREE) {
+                removeAt(index);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(IntPredicate predicate) {
+        int oldSize = size;
+        if (containsFree && predicate.test(FREE)) {
+            containsFree = false;
+            size--;
+        }
+        int[] oldTable = hashTable;
+        hashTable = new int[oldTable.length];
+        for (int value : oldTable) {
+            if (value != FREE) {
+                if (predicate.test(value)) {
+                    size--;
+                } else {
+                    hashTable[getIndex(value)] = value;
+                }
+            }
+        }
+        return size < oldSize;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(hashTable, FREE);
+        containsFree = false;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return value == FREE ? containsFree : hashTable[getIndex(value)] != FREE;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntHashSetIterator();
+    }
+
+    @Override
+    public IntStream stream() {
+        IntStream res = Arrays.stream(hashTable).filter(value -> value != FREE);
+        return containsFree ? IntStream.concat(IntStream.of(FREE), res) : res;
+    }
+
+}
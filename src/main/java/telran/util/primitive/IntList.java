@@ -0,0 +1,36 @@
+package telran.util.primitive;
+
+public interface IntList extends IntCollection {
+    void add(int index, int value);
+
+    int removeAt(int index);
+
+    int get(int index);
+
+    int indexOf(int value);
+
+    int lastIndexOf(int value);
+
+    @Override
+    default boolean remove(int value) {
+        int index = indexOf(value);
+        boolean wasRemoved = index >= 0;
+        if (wasRemoved) {
+            removeAt(index);
+        }
+        return wasRemoved;
+    }
+
+    @Override
+    default boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    default void checkIndex(int index, boolean sizeInclusive) {
+        int size = size();
+        int limit = sizeInclusive ? size : size - 1;
+        if (index < 0 || index > limit) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+}
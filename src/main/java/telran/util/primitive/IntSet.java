@@ -0,0 +1,5 @@
+package telran.util.primitive;
+
+public interface IntSet extends IntCollection {
+
+}
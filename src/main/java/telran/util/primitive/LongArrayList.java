@@ -0,0 +1,150 @@
+package telran.util.primitive;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+public class LongArrayList implements LongList {
+    private static final int DEFAULT_CAPACITY = 16;
+    private long[] array;
+    private int size;
+
+    public LongArrayList(int capacity) {
+        array = new long[capacity];
+    }
+
+    public LongArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private void reallocate() {
+        array = Arrays.copyOf(array, Math.max(array.length * 2, 1));
+    }
+
+    @Override
+    public long removeAt(int index) {
+        checkIndex(index, false);
+        long removed = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    @Override
+    public int indexOf(long value) {
+        int index = 0;
+        while (index < size && array[index] != value) {
+            index++;
+        }
+        return index == size ? -1 : index;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index = 0;
+            private boolean flNext = false;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                flNext = true;
+                return array[index++];
+            }
+
+            @Override
+            public void remove() {
+                if (!flNext) {
+                    throw new IllegalStateException();
+                }
+                LongArrayList.this.removeAt(--index);
+                flNext = false;
+            }
+
+        };
+    }
+
+    @Override
+    public boolean removeIf(LongPredicate predicate) {
+        int newIndex = 0;
+        for (int currentIndex = 0; currentIndex < size; currentIndex++) {
+            long element = array[currentIndex];
+            if (!predicate.test(element)) {
+                array[newIndex++] = element;
+            }
+        }
+        boolean removed = newIndex < size;
+        size = newIndex;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public boolean add(long value) {
+        if (size == array.length) {
+            reallocate();
+        }
+        array[size++] = value;
+        return true;
+    }
+
+    @Override
+    public void add(int index, long value) {
+        checkIndex(index, true);
+        if (size == array.length) {
+            reallocate();
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    @Override
+    public long get(int index) {
+        checkIndex(index, false);
+        return array[index];
+    }
+
+    @Override
+    public int lastIndexOf(long value) {
+        int index = size - 1;
+        while (index >= 0 && array[index] != value) {
+            index--;
+        }
+        return index;
+    }
+
+    @Override
+    public LongStream stream() {
+        return Arrays.stream(array, 0, size);
+    }
+
+    @Override
+    public long[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+}
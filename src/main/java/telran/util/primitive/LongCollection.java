@@ -0,0 +1,47 @@
+package telran.util.primitive;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+public interface LongCollection {
+
+    default boolean removeIf(LongPredicate predicate) {
+        int oldSize = size();
+        PrimitiveIterator.OfLong it = iterator();
+        while (it.hasNext()) {
+            if (predicate.test(it.nextLong())) {
+                it.remove();
+            }
+        }
+        return size() < oldSize;
+    }
+
+    default void clear() {
+        removeIf(n -> true);
+    }
+
+    boolean add(long value);
+
+    boolean remove(long value);
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(long value);
+
+    PrimitiveIterator.OfLong iterator();
+
+    default LongStream stream() {
+        return StreamSupport.longStream(Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED), false);
+    }
+
+    default long[] toArray() {
+        return stream().toArray();
+    }
+
+}
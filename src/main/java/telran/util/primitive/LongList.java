@@ -0,0 +1,36 @@
+package telran.util.primitive;
+
+public interface LongList extends LongCollection {
+    void add(int index, long value);
+
+    long removeAt(int index);
+
+    long get(int index);
+
+    int indexOf(long value);
+
+    int lastIndexOf(long value);
+
+    @Override
+    default boolean remove(long value) {
+        int index = indexOf(value);
+        boolean wasRemoved = index >= 0;
+        if (wasRemoved) {
+            removeAt(index);
+        }
+        return wasRemoved;
+    }
+
+    @Override
+    default boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    default void checkIndex(int index, boolean sizeInclusive) {
+        int size = size();
+        int limit = sizeInclusive ? size : size - 1;
+        if (index < 0 || index > limit) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+}
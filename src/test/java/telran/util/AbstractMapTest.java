@@ -4,6 +4,8 @@ import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,7 +18,9 @@ public abstract class AbstractMapTest {
 
     @BeforeEach
     void setUp() {
-        map = new HashMap<>();
+        if (map == null) {
+            map = new HashMap<>();
+        }
         for (Integer key : testKeys) {
             map.put(key, key * key);
         }
@@ -122,6 +126,99 @@ public abstract class AbstractMapTest {
         assertTrue(map.isEmpty());
     }
 
+    @Test
+    void computeTest() {
+        assertEquals(101, map.compute(10, (k, v) -> v + 1));
+        assertEquals(101, map.get(10));
+        assertEquals(1, map.compute(20, (k, v) -> v == null ? 1 : v + 1));
+        assertNull(map.compute(12, (k, v) -> null));
+        assertNull(map.compute(30, (k, v) -> null));
+        assertFalse(map.containsKey(12));
+        assertFalse(map.containsKey(30));
+        assertEquals(testKeys.length, map.size());
+    }
+
+    @Test
+    void computeIfAbsentTest() {
+        assertEquals(100, map.computeIfAbsent(10, k -> 0));
+        assertEquals(400, map.computeIfAbsent(20, k -> k * k));
+        assertEquals(400, map.get(20));
+        assertNull(map.computeIfAbsent(30, k -> null));
+        assertFalse(map.containsKey(30));
+        assertEquals(testKeys.length + 1, map.size());
+    }
+
+    @Test
+    void computeIfPresentTest() {
+        assertEquals(110, map.computeIfPresent(10, (k, v) -> v + k));
+        assertEquals(110, map.get(10));
+        assertNull(map.computeIfPresent(20, (k, v) -> 1));
+        assertFalse(map.containsKey(20));
+        assertNull(map.computeIfPresent(-2, (k, v) -> null));
+        assertFalse(map.containsKey(-2));
+        assertEquals(testKeys.length - 1, map.size());
+    }
+
+    @Test
+    void mergeTest() {
+        for (int key : new int[] { 1, 2, 1, 1 }) {
+            map.merge(key, 1, Integer::sum);
+        }
+        assertEquals(3, map.get(1));
+        assertEquals(1, map.get(2));
+        assertEquals(104, map.merge(10, 4, Integer::sum));
+        assertNull(map.merge(-2, 0, (v1, v2) -> null));
+        assertFalse(map.containsKey(-2));
+        assertEquals(testKeys.length + 1, map.size());
+        assertThrows(NullPointerException.class, () -> map.merge(1, null, Integer::sum));
+    }
+
+    @Test
+    void replaceTest() {
+        assertEquals(100, map.replace(10, 0));
+        assertEquals(0, map.get(10));
+        assertNull(map.replace(20, 0));
+        assertFalse(map.containsKey(20));
+        assertEquals(testKeys.length, map.size());
+    }
+
+    @Test
+    void liveViewsTest() {
+        Set<Integer> keys = map.keySet();
+        Collection<Integer> values = map.values();
+        map.put(20, 400);
+        assertEquals(testKeys.length + 1, keys.size());
+        assertTrue(keys.contains(20));
+        assertTrue(values.contains(400));
+        assertTrue(keys.remove(10));
+        assertFalse(keys.remove(10));
+        assertFalse(map.containsKey(10));
+        assertTrue(values.remove(4));
+        assertFalse(map.containsKey(-2));
+        assertEquals(testKeys.length - 1, map.size());
+        assertThrows(UnsupportedOperationException.class, () -> keys.add(1));
+        values.removeIf(value -> value > 100);
+        assertFalse(map.containsKey(20));
+        keys.clear();
+        assertTrue(map.isEmpty());
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    void forEachTest() {
+        int[] sums = new int[2];
+        map.forEach((key, value) -> {
+            sums[0] += key;
+            sums[1] += value;
+        });
+        assertEquals(17, sums[0]);
+        assertEquals(257, sums[1]);
+        map.replaceAll((key, value) -> value - key);
+        for (Integer key : testKeys) {
+            assertEquals(key * key - key, map.get(key));
+        }
+    }
+
     abstract <T> void runTest(T[] expected, T[] actual);
 
     public static Integer[] generateValuesFromKeys(Integer[] keys) {
@@ -1,6 +1,9 @@
 package telran.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class ArrayListTest extends ListTest {
     @BeforeEach
@@ -10,4 +13,13 @@ public class ArrayListTest extends ListTest {
         super.setUp();
     }
 
+    @Test
+    void addAllArrayListTest() {
+        assertTrue(collection.addAll(collection));
+        Integer[] expected = new Integer[array.length * 2];
+        System.arraycopy(array, 0, expected, 0, array.length);
+        System.arraycopy(array, 0, expected, array.length, array.length);
+        runTest(expected);
+    }
+
 }
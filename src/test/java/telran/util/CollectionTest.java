@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -82,6 +83,28 @@ public abstract class CollectionTest {
         assertEquals(array.length, parallelStream.count());
     }
 
+    @Test
+    void spliteratorTest() {
+        Spliterator<Integer> spliterator = collection.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(array.length, spliterator.estimateSize());
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        int[] count = { 0 };
+        if (prefix != null) {
+            prefix.forEachRemaining(n -> count[0]++);
+        }
+        spliterator.forEachRemaining(n -> count[0]++);
+        assertEquals(array.length, count[0]);
+    }
+
+    @Test
+    void parallelStreamBigTest() {
+        fillBigCollection();
+        long expectedSum = collection.stream().mapToLong(Integer::longValue).sum();
+        assertEquals(expectedSum, collection.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(collection.size(), collection.parallelStream().count());
+    }
+
     @Test
     void iteratorTest() {
         Iterator<Integer> iterator = collection.iterator();
@@ -122,6 +145,49 @@ public abstract class CollectionTest {
 
     }
 
+    @Test
+    void addAllTest() {
+        Collection<Integer> other = collectionOf(200, -10);
+        assertTrue(collection.addAll(other));
+        assertTrue(collection.containsAll(other));
+        assertFalse(collection.addAll(new ArrayList<>()));
+    }
+
+    @Test
+    void removeAllTest() {
+        Collection<Integer> other = collectionOf(-10, 3, 500);
+        assertTrue(collection.removeAll(other));
+        assertFalse(collection.contains(-10));
+        assertFalse(collection.contains(3));
+        assertEquals(array.length - 2, collection.size());
+        assertFalse(collection.removeAll(other));
+        assertTrue(collection.removeAll(collection));
+        assertTrue(collection.isEmpty());
+    }
+
+    @Test
+    void retainAllTest() {
+        Collection<Integer> other = collectionOf(-10, 3, 500);
+        assertTrue(collection.retainAll(other));
+        assertEquals(2, collection.size());
+        assertTrue(collection.containsAll(collectionOf(-10, 3)));
+        assertFalse(collection.retainAll(other));
+        assertFalse(collection.retainAll(collection));
+    }
+
+    @Test
+    void containsAllTest() {
+        assertTrue(collection.containsAll(collectionOf(3, -10, 17)));
+        assertFalse(collection.containsAll(collectionOf(3, 500)));
+        assertTrue(collection.containsAll(collection));
+    }
+
+    protected Collection<Integer> collectionOf(Integer... elements) {
+        Collection<Integer> res = new ArrayList<>();
+        Arrays.stream(elements).forEach(res::add);
+        return res;
+    }
+
     @Test
     void clearTest() {
         collection.clear();
@@ -0,0 +1,118 @@
+package telran.util;
+
+import java.util.Iterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import telran.util.concurrent.ConcurrentSkipListSet;
+
+public class ConcurrentSkipListSetTest extends SortedSetTest {
+    private static final int N_THREADS = 8;
+    private static final int N_KEYS = 20_000;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        collection = new ConcurrentSkipListSet<>();
+        super.setUp();
+    }
+
+    @Test
+    void concurrentAddRemoveTest() throws InterruptedException {
+        ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+        // every thread adds all the keys, and the threads of odd numbers remove the odd keys
+        runThreads(thread -> {
+            for (int i = 0; i < N_KEYS; i++) {
+                set.add(i);
+                if (thread % 2 == 1 && i % 2 == 1) {
+                    set.remove(i);
+                }
+            }
+        });
+        runThreads(thread -> {
+            for (int i = 1; i < N_KEYS; i += 2) {
+                set.remove(i);
+            }
+        });
+        Integer[] expected = IntStream.range(0, N_KEYS / 2).map(i -> i * 2).boxed().toArray(Integer[]::new);
+        assertArrayEquals(expected, set.stream().toArray(Integer[]::new));
+        assertEquals(N_KEYS / 2, set.size());
+    }
+
+    @Test
+    void concurrentRangeScanTest() throws InterruptedException {
+        ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+        // the writers add the keys of their threads while the readers check that the scans stay ascending
+        runThreads(thread -> {
+            if (thread < N_THREADS / 2) {
+                for (int i = thread; i < N_KEYS; i += N_THREADS / 2) {
+                    set.add(i);
+                }
+            } else {
+                for (int i = 0; i < 100; i++) {
+                    Iterator<Integer> it = set.subSet(N_KEYS / 4, N_KEYS / 2).iterator();
+                    Integer prev = null;
+                    while (it.hasNext()) {
+                        Integer current = it.next();
+                        assertTrue(current >= N_KEYS / 4 && current < N_KEYS / 2);
+                        assertTrue(prev == null || prev < current);
+                        prev = current;
+                    }
+                }
+            }
+        });
+        assertEquals(N_KEYS, set.size());
+        assertEquals(0, set.first());
+        assertEquals(N_KEYS - 1, set.last());
+        assertEquals(N_KEYS / 2, set.subSet(N_KEYS / 4, N_KEYS * 3 / 4).size());
+    }
+
+    @Test
+    void concurrentCeilingTest() throws InterruptedException {
+        ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+        set.add(0);
+        set.add(N_KEYS * 2);
+        // the writers add and remove keys just below the bound of the readers
+        runThreads(thread -> {
+            if (thread < N_THREADS / 2) {
+                for (int i = 0; i < N_KEYS * 10; i++) {
+                    set.add(N_KEYS - 1 - thread);
+                    set.remove(N_KEYS - 1 - thread);
+                }
+            } else {
+                for (int i = 0; i < N_KEYS * 10; i++) {
+                    assertEquals(N_KEYS * 2, set.ceiling(N_KEYS));
+                    assertEquals(N_KEYS * 2, set.subSet(N_KEYS, N_KEYS * 3).first());
+                }
+            }
+        });
+        assertEquals(2, set.size());
+    }
+
+    private void runThreads(IntConsumer task) throws InterruptedException {
+        Thread[] threads = new Thread[N_THREADS];
+        Throwable[] errors = new Throwable[N_THREADS];
+        for (int i = 0; i < N_THREADS; i++) {
+            int thread = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    task.accept(thread);
+                } catch (Throwable e) {
+                    errors[thread] = e;
+                }
+            });
+            threads[i].start();
+        }
+        for (int i = 0; i < N_THREADS; i++) {
+            threads[i].join();
+            assertNull(errors[i]);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package telran.util;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class HashMapTest extends AbstractMapTest {
 
@@ -23,4 +31,42 @@ public class HashMapTest extends AbstractMapTest {
         super.setUp();
     }
 
+    @Test
+    void removeTest() {
+        assertEquals(4, map.remove(-2));
+        assertNull(map.remove(-2));
+        assertFalse(map.containsKey(-2));
+        assertEquals(testKeys.length - 1, map.size());
+        assertEquals(100, map.put(10, 0));
+        assertEquals(0, map.get(10));
+    }
+
+    @Test
+    void bigMapTest() {
+        Map<Integer, Integer> bigMap = new HashMap<>();
+        IntStream.range(0, 100_000).forEach(i -> bigMap.put(i << 8, i));
+        IntStream.range(0, 100_000).filter(i -> i % 2 == 0).forEach(i -> assertEquals(i, bigMap.remove(i << 8)));
+        assertEquals(50_000, bigMap.size());
+        assertTrue(IntStream.range(0, 100_000)
+                .allMatch(i -> i % 2 == 0 ? bigMap.get(i << 8) == null : bigMap.get(i << 8) == i));
+    }
+
+    @Test
+    void bigMergeTest() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        IntStream.range(0, 300_000).forEach(i -> counts.merge((i % 100_000) << 8, 1, Integer::sum));
+        assertEquals(100_000, counts.size());
+        assertTrue(IntStream.range(0, 100_000).allMatch(i -> counts.get(i << 8) == 3));
+        IntStream.range(0, 100_000).filter(i -> i % 2 == 0)
+                .forEach(i -> assertNull(counts.computeIfPresent(i << 8, (k, v) -> null)));
+        assertEquals(50_000, counts.size());
+    }
+
+    @Test
+    void computeModificationTest() {
+        assertThrows(ConcurrentModificationException.class, () -> map.computeIfAbsent(1, k -> map.put(2, 4)));
+        assertThrows(ConcurrentModificationException.class, () -> map.compute(10, (k, v) -> map.remove(-2)));
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+    }
+
 }
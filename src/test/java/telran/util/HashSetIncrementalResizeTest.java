@@ -0,0 +1,88 @@
+package telran.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class HashSetIncrementalResizeTest extends HashSetTest {
+    private static final int N_KEYS = 100_000;
+
+    @Override
+    HashSet<Integer> newHashSet() {
+        return new HashSet<>(16, 0.75f, true);
+    }
+
+    @Test
+    void migrationTest() {
+        HashSet<Integer> set = new HashSet<>(16, 0.75f, true);
+        int nMigrations = 0;
+        for (int i = 0; i < N_KEYS; i++) {
+            boolean migrating = set.oldTable != null;
+            assertTrue(set.add(i));
+            if (!migrating && set.oldTable != null) {
+                // the resize only swaps the tables, the elements stay in the old one
+                nMigrations++;
+                assertEquals(set.oldTable.length * 2, set.hashTable.length);
+                assertTrue(Arrays.stream(set.oldTable).filter(obj -> obj != null).count() > set.size() / 2);
+            }
+            assertTrue(set.contains(i / 2));
+            assertFalse(set.add(i / 3));
+        }
+        assertEquals(14, nMigrations);
+        assertEquals(N_KEYS, set.size());
+        assertEquals(N_KEYS, set.stats().size());
+        IntStream.range(0, N_KEYS).filter(i -> i % 3 == 0).forEach(i -> assertTrue(set.remove(i)));
+        IntStream.range(0, N_KEYS).forEach(i -> assertEquals(i % 3 != 0, set.contains(i)));
+        assertEquals(N_KEYS - (N_KEYS + 2) / 3, set.stream().count());
+    }
+
+    @Test
+    void iterationDuringMigrationTest() {
+        HashSet<Integer> set = new HashSet<>(16, 0.75f, true);
+        int n = 0;
+        while (set.oldTable == null || n < 100) {
+            set.add(n++);
+        }
+        Object[] oldTable = set.oldTable;
+        assertEquals(n, set.stream().count());
+        assertEquals(n, set.parallelStream().mapToLong(i -> i).distinct().count());
+        Iterator<Integer> it = set.iterator();
+        int count = 0;
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+            count++;
+        }
+        assertEquals(n, count);
+        assertSame(oldTable, set.oldTable);
+        assertEquals(n / 2, set.size());
+        IntStream.range(0, n).forEach(i -> assertEquals(i % 2 != 0, set.contains(i)));
+        HashSet<Integer> other = new HashSet<>();
+        IntStream.range(n, n + 10).forEach(other::add);
+        set.addAll(other);
+        assertEquals(n / 2 + 10, set.size());
+    }
+
+    @Test
+    void mapMigrationTest() {
+        HashMap<Integer, Integer> map = new HashMap<>(16, 0.75f, true);
+        for (int i = 0; i < N_KEYS; i++) {
+            assertNull(map.put(i, i));
+            assertEquals(i / 2, map.put(i / 2, i / 2));
+            if (i % 5 == 0) {
+                assertEquals(i / 5, map.remove(i / 5));
+                assertNull(map.put(i / 5, i / 5));
+            }
+        }
+        assertEquals(N_KEYS, map.size());
+        IntStream.range(0, N_KEYS).forEach(i -> assertEquals(i, map.get(i)));
+    }
+}
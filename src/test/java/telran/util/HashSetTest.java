@@ -1,19 +1,28 @@
 package telran.util;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class HashSetTest extends SetTest {
     @Override
     @BeforeEach
     void setUp() {
-        collection = new HashSet<>();
+        collection = newHashSet();
         super.setUp();
     }
 
+    HashSet<Integer> newHashSet() {
+        return new HashSet<>();
+    }
+
     @Override
     protected void runTest(Integer[] expected) {
         Integer[] expectedSorted = Arrays.copyOf(expected, expected.length);
@@ -24,4 +33,67 @@ public class HashSetTest extends SetTest {
         assertEquals(expected.length, collection.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void removeInIteratorWrappedClusterTest() {
+        HashSet<Integer> set = new HashSet<>(16, 0.9f);
+        Integer[] keys = { 14, 15, 30, 31, 46, 0, 1 };
+        Arrays.stream(keys).forEach(set::add);
+        Integer[] actual = new Integer[keys.length];
+        int index = 0;
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            actual[index++] = iterator.next();
+            iterator.remove();
+        }
+        assertEquals(keys.length, index);
+        assertTrue(set.isEmpty());
+        Arrays.sort(actual);
+        Integer[] expected = keys.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void removeWithCollisionsTest() {
+        HashSet<Integer> set = new HashSet<>();
+        IntStream.range(0, 1000).forEach(i -> set.add(i << 16));
+        IntStream.range(0, 1000).filter(i -> i % 3 == 0).forEach(i -> assertTrue(set.remove(i << 16)));
+        IntStream.range(0, 1000).forEach(i -> assertEquals(i % 3 != 0, set.contains(i << 16)));
+        assertFalse(set.remove(1));
+        assertEquals(666, set.size());
+    }
+
+    @Test
+    void addAllHashSetTest() {
+        HashSet<Integer> other = new HashSet<>();
+        IntStream.range(0, 100_000).forEach(other::add);
+        HashSet<Integer> set = (HashSet<Integer>) collection;
+        assertTrue(set.addAll(other));
+        assertEquals(100_000 + 1, set.size());
+        assertEquals(262_144, set.hashTable.length);
+        IntStream.range(0, 100_000).forEach(i -> assertTrue(set.contains(i)));
+        assertTrue(set.contains(-10));
+        assertFalse(set.addAll(other));
+        assertFalse(set.addAll(set));
+    }
+
+    @Test
+    void statsTest() {
+        HashSet<Integer> set = new HashSet<>();
+        IntStream.range(0, 1000).forEach(set::add);
+        HashTableStats stats = set.stats();
+        assertEquals(1000, stats.size());
+        assertEquals(2048, stats.capacity());
+        assertEquals(8, stats.maxProbeLength());
+        assertEquals(0.493, stats.averageProbeLength());
+        assertEquals(7, stats.resizeCount());
+        assertArrayEquals(new long[] { 747, 139, 83, 30, 1 }, stats.probeLengthHistogram());
+        set.clear();
+        IntStream.range(0, 100).forEach(i -> set.add(i << 16 | i));
+        stats = set.stats();
+        assertEquals(1, stats.maxProbeLength());
+        assertEquals(0.02, stats.averageProbeLength());
+        assertArrayEquals(new long[] { 98, 2 }, stats.probeLengthHistogram());
+    }
+
+}
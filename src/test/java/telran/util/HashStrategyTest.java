@@ -0,0 +1,114 @@
+package telran.util;
+
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class HashStrategyTest {
+    private static final int N_KEYS = 10_000;
+
+    @Test
+    void arraysTest() {
+        HashSet<byte[]> set = new HashSet<>(HashStrategy.BYTE_ARRAY);
+        assertTrue(set.add(new byte[] { 1, 2, 3 }));
+        assertFalse(set.add(new byte[] { 1, 2, 3 }));
+        assertTrue(set.contains(new byte[] { 1, 2, 3 }));
+        assertFalse(set.contains(new byte[] { 1, 2 }));
+        HashMap<int[], String> map = new HashMap<>(HashStrategy.INT_ARRAY);
+        for (int i = 0; i < N_KEYS; i++) {
+            map.put(new int[] { i, -i }, "v" + i);
+        }
+        assertEquals(N_KEYS, map.size());
+        assertEquals("v10", map.get(new int[] { 10, -10 }));
+        assertEquals("v10", map.remove(new int[] { 10, -10 }));
+        assertNull(map.get(new int[] { 10, -10 }));
+        assertTrue(map.keySet().contains(new int[] { 11, -11 }));
+        HashSet<Object[]> nested = new HashSet<>(HashStrategy.array());
+        nested.add(new Object[] { "a", new int[] { 1 } });
+        assertTrue(nested.contains(new Object[] { "a", new int[] { 1 } }));
+    }
+
+    @Test
+    void caseInsensitiveTest() {
+        LinkedHashSet<String> set = new LinkedHashSet<>(HashStrategy.CASE_INSENSITIVE);
+        assertTrue(set.add("Hello"));
+        assertFalse(set.add("HELLO"));
+        assertTrue(set.add("world"));
+        assertEquals("Hello", set.get("hello"));
+        assertTrue(set.remove("WORLD"));
+        assertEquals(1, set.size());
+        HashMap<String, Integer> map = new HashMap<>(HashStrategy.CASE_INSENSITIVE);
+        map.put("Key", 1);
+        assertEquals(1, map.put("KEY", 2));
+        assertEquals(2, map.get("key"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void identityTest() {
+        HashSet<String> set = new HashSet<>(HashStrategy.identity());
+        String str = "abc";
+        String copy = new String(str);
+        assertTrue(set.add(str));
+        assertTrue(set.add(copy));
+        assertEquals(2, set.size());
+        assertSame(copy, set.get(copy));
+    }
+
+    @Test
+    void identityIteratorRemoveTest() {
+        // equal but distinct strings with one home slot near the end of the table, so their cluster wraps
+        int hash = IntStream.iterate(0, h -> h + 1).filter(h -> (HashStrategy.mix(h) & 15) == 13).findFirst()
+                .getAsInt();
+        HashSet<String> set = new HashSet<>(new HashStrategy<>() {
+            @Override
+            public int hashCode(String obj) {
+                return hash;
+            }
+
+            @Override
+            public boolean equals(String obj1, String obj2) {
+                return obj1 == obj2;
+            }
+        });
+        String[] strings = new String[4];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = new String("a");
+            set.add(strings[i]);
+        }
+        Iterator<String> it = set.iterator();
+        assertSame(strings[3], it.next());
+        assertSame(strings[0], it.next());
+        it.remove();
+        assertSame(strings[1], it.next());
+        assertSame(strings[2], it.next());
+        assertFalse(it.hasNext());
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void mixingTest() {
+        // the multiples of 1024 differ only in the bits above the table index
+        HashSet<Integer> plain = new HashSet<>();
+        HashSet<Integer> mixed = new HashSet<>(HashStrategy.natural());
+        IntStream.range(0, N_KEYS).forEach(i -> {
+            plain.add(i * 1024);
+            mixed.add(i * 1024);
+        });
+        assertTrue(mixed.stats().maxProbeLength() < 50);
+        assertEquals(plain.stats().maxProbeLength(), mixed.stats().maxProbeLength());
+        assertEquals(plain.stats().averageProbeLength(), mixed.stats().averageProbeLength());
+        assertEquals(plain.stream().toList(), mixed.stream().toList());
+        assertTrue(IntStream.range(0, N_KEYS).allMatch(i -> mixed.contains(i * 1024)));
+        HashSet<Integer> copy = new HashSet<>();
+        copy.addAll(mixed);
+        assertEquals(N_KEYS, copy.size());
+        assertTrue(IntStream.range(0, N_KEYS).allMatch(i -> copy.contains(i * 1024)));
+    }
+}
@@ -0,0 +1,85 @@
+package telran.util;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import telran.util.Map.Entry;
+
+public class LinkedHashMapTest extends AbstractMapTest {
+
+    @Override
+    <T> void runTest(T[] expected, T[] actual) {
+        T[] expectedSorted = Arrays.copyOf(expected, expected.length);
+        T[] actualSorted = Arrays.copyOf(actual, actual.length);
+        Arrays.sort(expectedSorted);
+        Arrays.sort(actualSorted);
+        assertArrayEquals(expectedSorted, actualSorted);
+    }
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        map = new LinkedHashMap<>();
+        for (Integer key : testKeys) {
+            map.put(key, key * key);
+        }
+    }
+
+    private Integer[] keys() {
+        return map.entrySet().stream().map(Entry::getKey).toArray(Integer[]::new);
+    }
+
+    @Test
+    void insertionOrderTest() {
+        map.get(10);
+        map.put(-2, 0);
+        map.put(5, 25);
+        assertArrayEquals(new Integer[] { 10, -2, 12, -3, 5 }, keys());
+        assertEquals(0, map.remove(-2));
+        assertArrayEquals(new Integer[] { 10, 12, -3, 5 }, keys());
+    }
+
+    @Test
+    void accessOrderTest() {
+        map = new LinkedHashMap<>(true);
+        for (Integer key : testKeys) {
+            map.put(key, key * key);
+        }
+        assertEquals(100, map.get(10));
+        map.put(12, 0);
+        map.containsKey(-2);
+        assertArrayEquals(new Integer[] { -2, -3, 10, 12 }, keys());
+    }
+
+    @Test
+    void evictionTest() {
+        int[] nEvicted = { 0 };
+        map = new LinkedHashMap<>(true, 3) {
+            @Override
+            protected boolean removeEldest(Entry<Integer, Integer> eldest) {
+                boolean res = super.removeEldest(eldest);
+                if (res) {
+                    nEvicted[0]++;
+                }
+                return res;
+            }
+        };
+        for (Integer key : testKeys) {
+            map.put(key, key * key);
+        }
+        assertEquals(3, map.size());
+        assertFalse(map.containsKey(10));
+        map.get(-2);
+        map.put(7, 49);
+        assertNull(map.get(12));
+        assertArrayEquals(new Integer[] { -3, -2, 7 }, keys());
+        assertEquals(2, nEvicted[0]);
+    }
+
+}
@@ -2,7 +2,10 @@ package telran.util;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class LinkedHashSetTest extends SetTest {
     @Override
@@ -19,4 +22,18 @@ public class LinkedHashSetTest extends SetTest {
         assertEquals(expected.length, collection.size());
     }
 
+    @Test
+    void accessOrderTest() {
+        collection = new LinkedHashSet<>(true, 5);
+        super.setUp();
+        LinkedHashSet<Integer> set = (LinkedHashSet<Integer>) collection;
+        runTest(new Integer[] { 1, 10, 8, 100, 17 });
+        assertEquals(10, set.get(10));
+        assertFalse(set.add(100));
+        runTest(new Integer[] { 1, 8, 17, 10, 100 });
+        set.add(50);
+        runTest(new Integer[] { 8, 17, 10, 100, 50 });
+        assertThrows(IllegalArgumentException.class, () -> new LinkedHashSet<>(true, 0));
+    }
+
 }
@@ -0,0 +1,34 @@
+package telran.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import telran.util.io.Serializer;
+import telran.util.mapped.MappedTreeSet;
+
+public class MappedTreeSetTest extends SortedSetTest {
+    Path path;
+
+    @BeforeEach
+    @Override
+    void setUp() {
+        try {
+            path = Files.createTempFile("mapped-tree-set", ".db");
+            Files.delete(path);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        collection = new MappedTreeSet<>(path, Serializer.INTEGER);
+        super.setUp();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ((MappedTreeSet<Integer>) collection).close();
+        Files.delete(path);
+    }
+}
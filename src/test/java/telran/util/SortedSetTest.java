@@ -6,7 +6,10 @@ import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -53,6 +56,84 @@ public abstract class SortedSetTest extends SetTest {
         assertArrayEquals(expected, actual);
     }
 
+    // { 3, -10, 20, 1, 10, 8, 100, 17 }
+    @Test
+    void subSetViewTest() {
+        SortedSet<Integer> subSet = sortedSet.subSet(1, 20);
+        assertEquals(5, subSet.size());
+        assertEquals(1, subSet.first());
+        assertEquals(17, subSet.last());
+        assertEquals(17, subSet.floor(50));
+        assertNull(subSet.floor(0));
+        assertEquals(1, subSet.ceiling(-50));
+        assertNull(subSet.ceiling(18));
+        assertTrue(subSet.contains(8));
+        assertFalse(subSet.contains(20));
+        assertNull(subSet.get(-10));
+        sortedSet.add(15);
+        assertTrue(subSet.contains(15));
+        assertTrue(subSet.add(16));
+        assertTrue(sortedSet.contains(16));
+        assertThrowsExactly(IllegalArgumentException.class, () -> subSet.add(20));
+        assertFalse(subSet.remove(100));
+        assertTrue(subSet.remove(1));
+        assertFalse(sortedSet.contains(1));
+        assertArrayEquals(new Integer[] { 3, 8, 10, 15, 16, 17 }, subSet.stream().toArray(Integer[]::new));
+        subSet.clear();
+        assertTrue(subSet.isEmpty());
+        assertArrayEquals(new Integer[] { -10, 20, 100 }, sortedSet.stream().toArray(Integer[]::new));
+    }
+
+    @Test
+    void headTailSetTest() {
+        assertArrayEquals(new Integer[] { -10, 1, 3 }, sortedSet.headSet(8).stream().toArray(Integer[]::new));
+        assertArrayEquals(new Integer[] { 17, 20, 100 }, sortedSet.tailSet(17).stream().toArray(Integer[]::new));
+        SortedSet<Integer> tailSet = sortedSet.tailSet(3);
+        SortedSet<Integer> middle = tailSet.headSet(20);
+        assertArrayEquals(new Integer[] { 3, 8, 10, 17 }, middle.stream().toArray(Integer[]::new));
+        assertEquals(17, middle.last());
+        assertEquals(-10, sortedSet.headSet(3).first());
+        assertTrue(sortedSet.headSet(-10).isEmpty());
+        sortedSet.add(-20);
+        assertEquals(-20, sortedSet.headSet(3).first());
+    }
+
+    @Test
+    void rankSelectTest() {
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sortedSet.rank(sorted[i]));
+            assertEquals(sorted[i], sortedSet.select(i));
+        }
+        assertEquals(0, sortedSet.rank(-100));
+        assertEquals(4, sortedSet.rank(9));
+        assertEquals(array.length, sortedSet.rank(1000));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> sortedSet.select(array.length));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> sortedSet.select(-1));
+    }
+
+    @Test
+    void countInRangeTest() {
+        assertEquals(2, sortedSet.countInRange(10, 20));
+        assertEquals(array.length, sortedSet.countInRange(-100, 1000));
+        assertEquals(0, sortedSet.countInRange(11, 17));
+        sortedSet.remove(10);
+        assertEquals(1, sortedSet.countInRange(10, 20));
+    }
+
+    @Test
+    void subSetRankSelectTest() {
+        SortedSet<Integer> subSet = sortedSet.subSet(1, 20);
+        assertEquals(0, subSet.rank(-10));
+        assertEquals(2, subSet.rank(8));
+        assertEquals(5, subSet.rank(100));
+        assertEquals(8, subSet.select(2));
+        assertEquals(17, subSet.select(4));
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> subSet.select(5));
+        assertEquals(3, subSet.countInRange(-100, 10));
+    }
+
     @Override
     protected void fillBigCollection() {
         Integer[] array = getBigArrayCW();
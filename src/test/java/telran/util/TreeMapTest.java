@@ -1,9 +1,12 @@
 package telran.util;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 public class TreeMapTest extends AbstractMapTest {
 
@@ -21,4 +24,11 @@ public class TreeMapTest extends AbstractMapTest {
         super.setUp();
     }
 
+    @Test
+    void computeModificationTest() {
+        assertThrows(ConcurrentModificationException.class, () -> map.computeIfAbsent(1, k -> map.put(2, 4)));
+        assertThrows(ConcurrentModificationException.class, () -> map.compute(10, (k, v) -> map.remove(-2)));
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((key, value) -> map.remove(key)));
+    }
+
 }
@@ -0,0 +1,101 @@
+package telran.util;
+
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TreeSetSelfBalancingTest extends SortedSetTest {
+    TreeSet<Integer> treeSet;
+
+    @Override
+    @BeforeEach
+    void setUp() {
+        collection = new TreeSet<>(true);
+        super.setUp();
+        treeSet = (TreeSet<Integer>) collection;
+    }
+
+    @Test
+    void sortedInputTest() {
+        TreeSet<Integer> tree = new TreeSet<>(true);
+        IntStream.rangeClosed(1, 7).boxed().forEach(tree::add);
+        assertEquals(4, tree.height());
+        tree.clear();
+        IntStream.rangeClosed(1, N_ELEMENTS).boxed().forEach(tree::add);
+        assertTrue(tree.height() <= 2 * 20);
+        assertEquals(N_ELEMENTS, tree.size());
+        assertEquals(N_ELEMENTS / 2, tree.floor(N_ELEMENTS / 2));
+    }
+
+    @Test
+    void removeKeepsBalanceTest() {
+        TreeSet<Integer> tree = new TreeSet<>(true);
+        IntStream.rangeClosed(1, N_ELEMENTS).boxed().forEach(tree::add);
+        IntStream.rangeClosed(1, N_ELEMENTS / 2).boxed().forEach(n -> assertTrue(tree.remove(n)));
+        Iterator<Integer> iterator = tree.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals((N_ELEMENTS + 1) / 4, tree.size());
+        assertTrue(tree.height() <= 2 * 19);
+        assertFalse(tree.contains(N_ELEMENTS / 2));
+        assertEquals(N_ELEMENTS / 2 + 2, tree.first());
+        assertEquals(N_ELEMENTS, tree.last());
+    }
+
+    @Test
+    void balanceTest() {
+        TreeSet<Integer> tree = new TreeSet<>(true);
+        IntStream.rangeClosed(1, N_ELEMENTS).boxed().forEach(tree::add);
+        tree.balance();
+        assertEquals(20, tree.height());
+        IntStream.rangeClosed(1, 1000).boxed().forEach(tree::remove);
+        IntStream.rangeClosed(1, 1000).boxed().forEach(tree::add);
+        assertTrue(tree.height() <= 2 * 20);
+        assertEquals(N_ELEMENTS, tree.size());
+    }
+
+    @Test
+    void bulkMergeTest() {
+        int nNumbers = 100_000;
+        TreeSet<Integer> evens = new TreeSet<>(true);
+        TreeSet<Integer> triples = new TreeSet<>(true);
+        IntStream.range(0, nNumbers).filter(n -> n % 2 == 0).boxed().forEach(evens::add);
+        IntStream.range(0, nNumbers).filter(n -> n % 3 == 0).boxed().forEach(triples::add);
+        TreeSet<Integer> tree = new TreeSet<>(true);
+        assertTrue(tree.addAll(evens));
+        assertTrue(tree.addAll(triples));
+        assertFalse(tree.addAll(triples));
+        Integer[] expected = IntStream.range(0, nNumbers).filter(n -> n % 2 == 0 || n % 3 == 0).boxed()
+                .toArray(Integer[]::new);
+        assertArrayEquals(expected, tree.stream().toArray(Integer[]::new));
+        assertEquals(expected[expected.length / 2], tree.select(expected.length / 2));
+        assertTrue(tree.height() <= 17);
+        IntStream.range(nNumbers, 2 * nNumbers).boxed().forEach(tree::add);
+        assertTrue(tree.height() <= 2 * 18);
+        int nEvensOnly = (int) IntStream.range(0, nNumbers).filter(n -> n % 2 == 0 && n % 3 != 0).count();
+        assertTrue(tree.removeAll(triples));
+        assertEquals(nEvensOnly, tree.countInRange(0, nNumbers));
+        assertTrue(tree.retainAll(evens));
+        assertEquals(nEvensOnly, tree.size());
+        assertFalse(tree.contains(6));
+        assertTrue(tree.contains(4));
+    }
+
+    @Test
+    void inversionTest() {
+        treeSet.inversion();
+        IntStream.range(200, 300).boxed().forEach(treeSet::add);
+        assertEquals(299, treeSet.first());
+        assertEquals(-10, treeSet.last());
+        assertEquals(array.length + 100, treeSet.size());
+    }
+}
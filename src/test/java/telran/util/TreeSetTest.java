@@ -1,10 +1,14 @@
 package telran.util;
 
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -82,4 +86,59 @@ public class TreeSetTest extends SortedSetTest {
         assertEquals(20, tree.height());
         assertEquals((N_ELEMENTS + 1) / 2, tree.width());
     }
-}
\ No newline at end of file
+
+    @Test
+    void fromSortedTest() {
+        List<Integer> sorted = new ArrayList<>();
+        IntStream.rangeClosed(1, N_ELEMENTS).forEach(sorted::add);
+        TreeSet<Integer> tree = TreeSet.fromSorted(sorted);
+        assertEquals(20, tree.height());
+        assertEquals((N_ELEMENTS + 1) / 2, tree.width());
+        assertEquals(N_ELEMENTS, tree.size());
+        assertEquals(N_ELEMENTS / 2, tree.rank(N_ELEMENTS / 2 + 1));
+        assertEquals(3, TreeSet.fromSorted(collectionOf(1, 1, 2, 3, 3), Comparator.naturalOrder(), true).size());
+        assertThrows(IllegalArgumentException.class, () -> TreeSet.fromSorted(collectionOf(1, 3, 2)));
+        tree.clear();
+        assertTrue(tree.addAll(sorted));
+        assertEquals(20, tree.height());
+        assertEquals(N_ELEMENTS, tree.last());
+        assertTrue(treeSet.addAll(collectionOf(-20, 0, 2, 4, 6, 8, 12)));
+        runTest(new Integer[] { -20, -10, 0, 1, 2, 3, 4, 6, 8, 10, 12, 17, 20, 100 });
+    }
+
+    @Test
+    void orderStatisticsTest() {
+        TreeSet<Integer> tree = new TreeSet<>();
+        Integer[] array = getBigArrayCW();
+        Arrays.stream(array).forEach(tree::add);
+        Arrays.sort(array);
+        tree.balance();
+        assertEquals(array[N_ELEMENTS / 2], tree.select(N_ELEMENTS / 2));
+        assertEquals(N_ELEMENTS / 2, tree.rank(array[N_ELEMENTS / 2]));
+        IntStream.range(0, 1000).forEach(i -> tree.remove(array[i]));
+        assertEquals(array[N_ELEMENTS / 2], tree.select(N_ELEMENTS / 2 - 1000));
+        assertEquals(100, tree.countInRange(array[2000], array[2100]));
+        treeSet.inversion();
+        assertEquals(0, treeSet.rank(100));
+        assertEquals(100, treeSet.select(0));
+        assertEquals(-10, treeSet.select(7));
+        assertEquals(4, treeSet.countInRange(20, 3));
+    }
+
+    @Test
+    void spliteratorSplitTest() {
+        TreeSet<Integer> tree = new TreeSet<>(true);
+        IntStream.range(0, 1000).boxed().forEach(tree::add);
+        Spliterator<Integer> spliterator = tree.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED | Spliterator.DISTINCT));
+        assertNull(spliterator.getComparator());
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(1000, prefix.estimateSize() + spliterator.estimateSize());
+        int[] last = { -1 };
+        prefix.forEachRemaining(n -> assertEquals(++last[0], n));
+        spliterator.forEachRemaining(n -> assertEquals(++last[0], n));
+        assertEquals(999, last[0]);
+        assertArrayEquals(IntStream.range(0, 1000).boxed().toArray(Integer[]::new),
+                tree.parallelStream().toArray(Integer[]::new));
+    }
+}
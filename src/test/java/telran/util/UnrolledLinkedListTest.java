@@ -0,0 +1,64 @@
+package telran.util;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class UnrolledLinkedListTest extends ListTest {
+    @BeforeEach
+    @Override
+    void setUp() {
+        collection = new UnrolledLinkedList<>();
+        super.setUp();
+    }
+
+    @Test
+    void indexedUpdatesTest() {
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 200_000; i++) {
+            int operation = random.nextInt(5);
+            if (operation < 3 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                unrolled.add(index, i);
+            } else if (operation == 3) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), unrolled.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), unrolled.get(index));
+            }
+        }
+        assertArrayEquals(expected.toArray(), unrolled.stream().toArray());
+        expected.removeIf(n -> n % 3 != 0);
+        unrolled.removeIf(n -> n % 3 != 0);
+        assertArrayEquals(expected.toArray(), unrolled.stream().toArray());
+        for (int i = 0; i < expected.size(); i += 7) {
+            assertEquals(expected.get(i), unrolled.get(i));
+            assertEquals(i, unrolled.indexOf(expected.get(i)));
+            assertEquals(i, unrolled.lastIndexOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    void prependTest() {
+        UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>();
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            unrolled.add(0, i);
+        }
+        assertTrue(unrolled.chunkCount() <= 4 * Math.sqrt(n));
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            int index = random.nextInt(n);
+            assertEquals(n - 1 - index, unrolled.get(index));
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package telran.util.cache;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import telran.util.Map;
+
+public class BoundedCacheTest {
+    private static final int CAPACITY = 100;
+
+    private static void putAll(Cache<Integer, String> cache, Integer... keys) {
+        for (Integer key : keys) {
+            cache.put(key, "v" + key);
+        }
+    }
+
+    @Test
+    void lruTest() {
+        Cache<Integer, String> cache = new BoundedCache<>(3, new LruPolicy<>());
+        putAll(cache, 1, 2, 3);
+        assertEquals("v1", cache.get(1));
+        putAll(cache, 4);
+        assertFalse(cache.containsKey(2));
+        assertNull(cache.getIfPresent(2));
+        putAll(cache, 5);
+        assertFalse(cache.containsKey(3));
+        assertTrue(cache.containsKey(1));
+        assertEquals(3, cache.size());
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(2, stats.evictionCount());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void lfuTest() {
+        Cache<Integer, String> cache = new BoundedCache<>(3, new LfuPolicy<>());
+        putAll(cache, 1, 2, 3);
+        cache.get(1);
+        cache.get(1);
+        cache.get(3);
+        putAll(cache, 4);
+        assertFalse(cache.containsKey(2));
+        putAll(cache, 5);
+        assertFalse(cache.containsKey(4));
+        assertEquals("v1", cache.remove(1));
+        putAll(cache, 6, 7);
+        assertTrue(cache.containsKey(3));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void loaderTest() {
+        Cache<Integer, String> cache = new BoundedCache<>(CAPACITY, new WindowTinyLfuPolicy<>(CAPACITY));
+        int[] nLoads = { 0 };
+        Function<Integer, String> loader = key -> {
+            nLoads[0]++;
+            return "v" + key;
+        };
+        assertEquals("v1", cache.get(1, loader));
+        assertEquals("v1", cache.get(1, loader));
+        assertNull(cache.get(2, key -> null));
+        assertFalse(cache.containsKey(2));
+        assertEquals(1, nLoads[0]);
+        assertEquals(2, cache.stats().loadCount());
+        assertEquals(1, cache.stats().hitCount());
+        assertThrows(NullPointerException.class, () -> cache.put(3, null));
+    }
+
+    @Test
+    void weightTest() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, (key, value) -> value.length(),
+                new LruPolicy<>());
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        assertEquals(8, cache.weight());
+        cache.put(3, "cc");
+        assertEquals(10, cache.weight());
+        cache.put(1, "aaaaaa");
+        assertFalse(cache.containsKey(2));
+        assertTrue(cache.containsKey(3));
+        assertEquals(8, cache.weight());
+        cache.put(4, "x".repeat(11));
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.weight());
+        assertEquals(4, cache.stats().evictionCount());
+        assertEquals(4 + 2 + 6 + 11, cache.stats().evictionWeight());
+    }
+
+    @Test
+    void mapViewsTest() {
+        Map<Integer, String> map = new BoundedCache<>(CAPACITY, new LruPolicy<>());
+        map.put(1, "a");
+        map.put(2, "b");
+        assertEquals("a", map.putIfAbsent(1, "c"));
+        assertTrue(map.containsValue("b"));
+        assertEquals(2, map.keySet().size());
+        assertTrue(map.values().contains("a"));
+        assertEquals(2, map.entrySet().size());
+    }
+
+    @Test
+    void sketchTest() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("popular");
+        }
+        sketch.increment("rare");
+        assertEquals(10, sketch.frequency("popular"));
+        assertEquals(1, sketch.frequency("rare"));
+        assertEquals(0, sketch.frequency("absent"));
+        for (int i = 0; i < 100_000; i++) {
+            sketch.increment(i);
+        }
+        assertTrue(sketch.frequency("popular") < 10);
+    }
+
+    // popular keys requested often, mixed with scans of keys requested once
+    private double hitRate(EvictionPolicy<Integer> policy) {
+        Cache<Integer, String> cache = new BoundedCache<>(CAPACITY, policy);
+        Random random = new Random(1);
+        int scanKey = 1_000_000;
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(4) == 0 ? scanKey++ : (int) (CAPACITY * Math.pow(random.nextDouble(), 3));
+            cache.get(key, k -> "v" + k);
+        }
+        return cache.stats().hitRate();
+    }
+
+    @Test
+    void scanResistanceTest() {
+        double lruHitRate = hitRate(new LruPolicy<>());
+        double tinyLfuHitRate = hitRate(new WindowTinyLfuPolicy<>(CAPACITY));
+        assertTrue(tinyLfuHitRate > lruHitRate, tinyLfuHitRate + " " + lruHitRate);
+        assertTrue(tinyLfuHitRate > 0.7);
+    }
+
+}
@@ -0,0 +1,156 @@
+package telran.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import telran.util.Map;
+import telran.util.Map.Entry;
+
+public class ConcurrentHashMapTest {
+    private static final int N_THREADS = 8;
+    private static final int N_KEYS = 100_000;
+    ConcurrentHashMap<Integer, Integer> map;
+    Integer[] testKeys = { 10, -2, 12, -3 };
+
+    @BeforeEach
+    void setUp() {
+        map = new ConcurrentHashMap<>();
+        for (Integer key : testKeys) {
+            map.put(key, key * key);
+        }
+    }
+
+    @Test
+    void getPutRemoveTest() {
+        for (Integer key : testKeys) {
+            assertEquals(key * key, map.get(key));
+        }
+        assertNull(map.get(99));
+        assertEquals(100, map.put(10, 0));
+        assertEquals(0, map.get(10));
+        assertEquals(4, map.remove(-2));
+        assertNull(map.remove(-2));
+        assertFalse(map.containsKey(-2));
+        assertEquals(testKeys.length - 1, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+    }
+
+    @Test
+    void putIfAbsentTest() {
+        assertEquals(100, map.putIfAbsent(10, 0));
+        assertEquals(100, map.get(10));
+        assertNull(map.putIfAbsent(20, 400));
+        assertEquals(400, map.get(20));
+        assertEquals(testKeys.length + 1, map.size());
+    }
+
+    @Test
+    void computeTest() {
+        assertEquals(101, map.compute(10, (k, v) -> v + 1));
+        assertEquals(1, map.compute(20, (k, v) -> v == null ? 1 : v + 1));
+        assertNull(map.compute(12, (k, v) -> null));
+        assertNull(map.compute(30, (k, v) -> null));
+        assertFalse(map.containsKey(12));
+        assertFalse(map.containsKey(30));
+        assertEquals(testKeys.length, map.size());
+        assertThrows(IllegalStateException.class, () -> map.compute(40, (k, v) -> map.compute(40, (k1, v1) -> 1)));
+    }
+
+    @Test
+    void computeIfAbsentMergeTest() {
+        assertEquals(100, map.computeIfAbsent(10, k -> 0));
+        assertEquals(400, map.computeIfAbsent(20, k -> k * k));
+        assertNull(map.computeIfPresent(30, (k, v) -> 1));
+        assertEquals(-4, map.computeIfPresent(-2, (k, v) -> v * k / 2));
+        assertEquals(105, map.merge(10, 5, Integer::sum));
+        assertEquals(7, map.merge(30, 7, Integer::sum));
+        assertEquals(105, map.replace(10, 0));
+        assertNull(map.replace(40, 0));
+        assertFalse(map.containsKey(40));
+        assertEquals(testKeys.length + 2, map.size());
+    }
+
+    @Test
+    void viewsTest() {
+        assertEquals(testKeys.length, map.keySet().size());
+        assertTrue(map.keySet().contains(-3));
+        assertTrue(map.values().contains(144));
+        assertTrue(map.containsValue(9));
+        assertFalse(map.containsValue(99));
+        for (Entry<Integer, Integer> entry : map.entrySet()) {
+            entry.setValue(-entry.getValue());
+        }
+        assertEquals(-100, map.get(10));
+    }
+
+    @Test
+    void bigMapTest() {
+        Map<Integer, Integer> bigMap = new ConcurrentHashMap<>();
+        IntStream.range(0, N_KEYS).forEach(i -> bigMap.put(i << 8, i));
+        IntStream.range(0, N_KEYS).filter(i -> i % 2 == 0).forEach(i -> assertEquals(i, bigMap.remove(i << 8)));
+        assertEquals(N_KEYS / 2, bigMap.size());
+        assertTrue(IntStream.range(0, N_KEYS)
+                .allMatch(i -> i % 2 == 0 ? bigMap.get(i << 8) == null : bigMap.get(i << 8) == i));
+        assertEquals(N_KEYS / 2, bigMap.keySet().size());
+    }
+
+    @Test
+    void concurrentPutTest() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> bigMap = new ConcurrentHashMap<>();
+        runThreads(thread -> {
+            for (int i = thread; i < N_KEYS; i += N_THREADS) {
+                bigMap.put(i, i);
+                assertEquals(i, bigMap.get(i));
+            }
+        });
+        assertEquals(N_KEYS, bigMap.size());
+        assertTrue(IntStream.range(0, N_KEYS).allMatch(i -> bigMap.get(i) == i));
+    }
+
+    @Test
+    void concurrentComputeTest() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> counters = new ConcurrentHashMap<>();
+        AtomicInteger firstPuts = new AtomicInteger();
+        runThreads(thread -> {
+            for (int i = 0; i < N_KEYS; i++) {
+                counters.compute(i % 1000, (k, v) -> v == null ? 1 : v + 1);
+                if (counters.putIfAbsent(N_KEYS + i, thread) == null) {
+                    firstPuts.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(1000 + N_KEYS, counters.size());
+        assertEquals(N_KEYS, firstPuts.get());
+        assertTrue(IntStream.range(0, 1000).allMatch(i -> counters.get(i) == N_THREADS * N_KEYS / 1000));
+    }
+
+    private void runThreads(IntConsumer task) throws InterruptedException {
+        Thread[] threads = new Thread[N_THREADS];
+        Throwable[] errors = new Throwable[N_THREADS];
+        for (int i = 0; i < N_THREADS; i++) {
+            int thread = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    task.accept(thread);
+                } catch (Throwable e) {
+                    errors[thread] = e;
+                }
+            });
+            threads[i].start();
+        }
+        for (int i = 0; i < N_THREADS; i++) {
+            threads[i].join();
+            assertNull(errors[i]);
+        }
+    }
+
+}
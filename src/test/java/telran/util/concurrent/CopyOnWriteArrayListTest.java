@@ -0,0 +1,138 @@
+package telran.util.concurrent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import telran.util.ArrayList;
+import telran.util.List;
+
+public class CopyOnWriteArrayListTest {
+    private static final int N_THREADS = 8;
+    private static final int N_ELEMENTS = 20_000;
+    CopyOnWriteArrayList<Integer> list;
+    Integer[] array = { 3, -10, 20, 1, 10, 8, 100, 17 };
+
+    @BeforeEach
+    void setUp() {
+        list = new CopyOnWriteArrayList<>();
+        Arrays.stream(array).forEach(list::add);
+    }
+
+    @Test
+    void addGetRemoveTest() {
+        list.add(0, 999);
+        list.add(list.size(), 1000);
+        assertEquals(999, list.get(0));
+        assertEquals(1000, list.get(array.length + 1));
+        assertEquals(999, list.remove(0));
+        assertTrue(list.remove(Integer.valueOf(1000)));
+        assertFalse(list.remove(Integer.valueOf(1000)));
+        assertArrayEquals(array, list.stream().toArray(Integer[]::new));
+        assertEquals(2, list.indexOf(20));
+        assertEquals(-1, list.lastIndexOf(200));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(array.length));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(-1, 0));
+    }
+
+    @Test
+    void snapshotIteratorTest() {
+        Iterator<Integer> it = list.iterator();
+        list.clear();
+        assertTrue(list.isEmpty());
+        int count = 0;
+        while (it.hasNext()) {
+            assertEquals(array[count++], it.next());
+        }
+        assertEquals(array.length, count);
+        assertThrows(UnsupportedOperationException.class, it::remove);
+    }
+
+    @Test
+    void bulkTest() {
+        List<Integer> other = new ArrayList<>();
+        other.add(5);
+        other.add(6);
+        assertTrue(list.addAll(other));
+        assertEquals(array.length + 2, list.size());
+        assertTrue(list.removeIf(n -> n > 4));
+        assertArrayEquals(new Integer[] { 3, -10, 1 }, list.stream().toArray(Integer[]::new));
+        list.batch(working -> {
+            working.add(0, 0);
+            working.remove(Integer.valueOf(-10));
+            working.add(7);
+        });
+        assertArrayEquals(new Integer[] { 0, 3, 1, 7 }, list.stream().toArray(Integer[]::new));
+        assertThrows(IllegalStateException.class, () -> list.batch(working -> {
+            working.clear();
+            throw new IllegalStateException();
+        }));
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    void concurrentReadersTest() throws InterruptedException {
+        list.clear();
+        runThreads(thread -> {
+            if (thread == 0) {
+                for (int i = 0; i < N_ELEMENTS; i++) {
+                    if (i % 100 == 0) {
+                        int first = i;
+                        list.batch(working -> {
+                            for (int j = first; j < first + 100; j++) {
+                                working.add(j);
+                            }
+                        });
+                        i += 99;
+                    } else {
+                        list.add(i);
+                    }
+                }
+            } else {
+                int size = 0;
+                while (size < N_ELEMENTS) {
+                    int index = 0;
+                    for (Integer element : list) {
+                        assertEquals(index++, element);
+                    }
+                    assertTrue(index >= size);
+                    size = index;
+                    if (size > 0) {
+                        assertEquals(size - 1, list.get(size - 1));
+                    }
+                }
+            }
+        });
+        assertEquals(N_ELEMENTS, list.size());
+    }
+
+    private void runThreads(IntConsumer task) throws InterruptedException {
+        Thread[] threads = new Thread[N_THREADS];
+        Throwable[] errors = new Throwable[N_THREADS];
+        for (int i = 0; i < N_THREADS; i++) {
+            int thread = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    task.accept(thread);
+                } catch (Throwable e) {
+                    errors[thread] = e;
+                }
+            });
+            threads[i].start();
+        }
+        for (int i = 0; i < N_THREADS; i++) {
+            threads[i].join();
+            assertNull(errors[i]);
+        }
+    }
+
+}
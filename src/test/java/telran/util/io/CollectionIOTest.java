@@ -0,0 +1,209 @@
+package telran.util.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import telran.util.ArrayList;
+import telran.util.HashMap;
+import telran.util.HashSet;
+import telran.util.TreeMap;
+import telran.util.TreeSet;
+
+public class CollectionIOTest {
+    private static final int N_ELEMENTS = 200_000;
+    Path path;
+    Integer[] array = { 3, -10, 20, 1, 10, 8, 100, 17 };
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("collections", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    void collectionsTest() {
+        ArrayList<Integer> list = new ArrayList<>();
+        HashSet<Integer> hashSet = new HashSet<>();
+        TreeSet<Integer> treeSet = new TreeSet<>();
+        for (Integer obj : array) {
+            list.add(obj);
+            hashSet.add(obj);
+            treeSet.add(obj);
+        }
+        try (CollectionWriter writer = new CollectionWriter(path)) {
+            writer.write(list, Serializer.INTEGER);
+            writer.write(hashSet, Serializer.INTEGER);
+            writer.write(treeSet, Serializer.INTEGER);
+            writer.write(new ArrayList<>(), Serializer.INTEGER);
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertArrayEquals(array, reader.readArrayList(Serializer.INTEGER).stream().toArray(Integer[]::new));
+            HashSet<Integer> hashSetRead = reader.readHashSet(Serializer.INTEGER);
+            assertEquals(array.length, hashSetRead.size());
+            assertTrue(hashSetRead.containsAll(list));
+            TreeSet<Integer> treeSetRead = reader.readTreeSet(Serializer.INTEGER);
+            assertArrayEquals(treeSet.stream().toArray(Integer[]::new), treeSetRead.stream().toArray(Integer[]::new));
+            assertEquals(-10, treeSetRead.first());
+            assertTrue(reader.readArrayList(Serializer.INTEGER).isEmpty());
+        }
+    }
+
+    @Test
+    void mapsTest() {
+        HashMap<String, Integer> hashMap = new HashMap<>();
+        TreeMap<String, Integer> treeMap = new TreeMap<>();
+        for (Integer obj : array) {
+            hashMap.put("key" + obj, obj);
+            treeMap.put("key" + obj, obj);
+        }
+        try (CollectionWriter writer = new CollectionWriter(path)) {
+            writer.write(hashMap, Serializer.STRING, Serializer.INTEGER);
+            writer.write(treeMap, Serializer.STRING, Serializer.INTEGER);
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            HashMap<String, Integer> hashMapRead = reader.readHashMap(Serializer.STRING, Serializer.INTEGER);
+            TreeMap<String, Integer> treeMapRead = reader.readTreeMap(Serializer.STRING, Serializer.INTEGER);
+            for (Integer obj : array) {
+                assertEquals(obj, hashMapRead.get("key" + obj));
+                assertEquals(obj, treeMapRead.get("key" + obj));
+            }
+            assertEquals(array.length, hashMapRead.size());
+            assertEquals(array.length, treeMapRead.size());
+            assertArrayEquals(treeMap.entrySet().stream().map(e -> e.getKey()).toArray(),
+                    treeMapRead.entrySet().stream().map(e -> e.getKey()).toArray());
+        }
+    }
+
+    @Test
+    void bigTreeSetTest() {
+        TreeSet<Integer> treeSet = new TreeSet<>();
+        new Random(0).ints(N_ELEMENTS).forEach(treeSet::add);
+        try (CollectionWriter writer = new CollectionWriter(path)) {
+            writer.write(treeSet, Serializer.INTEGER);
+        }
+        TreeSet<Integer> treeSetRead;
+        try (CollectionReader reader = new CollectionReader(path)) {
+            treeSetRead = reader.readTreeSet(Serializer.INTEGER);
+        }
+        assertEquals(treeSet.size(), treeSetRead.size());
+        assertArrayEquals(treeSet.stream().toArray(Integer[]::new), treeSetRead.stream().toArray(Integer[]::new));
+        // built balanced, a tree of n elements has the height of about log2(n)
+        assertTrue(treeSetRead.height() <= 18);
+    }
+
+    @Test
+    void elementsLargerThanBufferTest() {
+        ArrayList<String> list = new ArrayList<>();
+        list.add("a".repeat(CollectionFormat.BUFFER_SIZE * 3));
+        list.add("b");
+        list.add("c".repeat(CollectionFormat.BUFFER_SIZE - 3));
+        try (CollectionWriter writer = new CollectionWriter(path)) {
+            writer.write(list, Serializer.STRING);
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertArrayEquals(list.stream().toArray(), reader.readArrayList(Serializer.STRING).stream().toArray());
+        }
+    }
+
+    @Test
+    void wrongStreamTest() throws IOException {
+        TreeSet<Integer> treeSet = new TreeSet<>();
+        for (Integer obj : array) {
+            treeSet.add(obj);
+        }
+        try (CollectionWriter writer = new CollectionWriter(path)) {
+            writer.write(treeSet, Serializer.INTEGER);
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertThrowsExactly(IllegalArgumentException.class,
+                    () -> reader.readTreeSet(Serializer.INTEGER, Comparator.reverseOrder()));
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertThrowsExactly(IllegalArgumentException.class,
+                    () -> reader.readHashMap(Serializer.INTEGER, Serializer.INTEGER));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES), 0);
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertThrowsExactly(UncheckedIOException.class, () -> reader.readArrayList(Serializer.INTEGER));
+        }
+        try (CollectionWriter writer = new CollectionWriter(path)) {
+            writer.write(treeSet, Serializer.INTEGER);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(CollectionFormat.HEADER_SIZE + 2);
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertThrowsExactly(UncheckedIOException.class, () -> reader.readArrayList(Serializer.INTEGER));
+        }
+    }
+
+    @Test
+    void corruptCountTest() throws IOException {
+        writeHeader((byte) 0, Integer.MAX_VALUE - 16);
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertThrowsExactly(UncheckedIOException.class, () -> reader.readArrayList(Serializer.INTEGER));
+        }
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertThrowsExactly(UncheckedIOException.class, () -> reader.readHashSet(Serializer.INTEGER));
+        }
+        writeHeader(CollectionFormat.MAP, Integer.MAX_VALUE - 16);
+        try (CollectionReader reader = new CollectionReader(path)) {
+            assertThrowsExactly(UncheckedIOException.class,
+                    () -> reader.readHashMap(Serializer.INTEGER, Serializer.INTEGER));
+        }
+    }
+
+    @Test
+    void corruptStringLengthTest() throws IOException {
+        writeHeader((byte) 0, 1, -1);
+        try (CollectionReader reader = new CollectionReader(path)) {
+            UncheckedIOException e = assertThrowsExactly(UncheckedIOException.class,
+                    () -> reader.readArrayList(Serializer.STRING));
+            assertInstanceOf(StreamCorruptedException.class, e.getCause());
+        }
+        writeHeader((byte) 0, 1, Integer.MAX_VALUE);
+        try (CollectionReader reader = new CollectionReader(path)) {
+            UncheckedIOException e = assertThrowsExactly(UncheckedIOException.class,
+                    () -> reader.readArrayList(Serializer.STRING));
+            assertInstanceOf(EOFException.class, e.getCause());
+        }
+    }
+
+    // the header followed by the given ints
+    private void writeHeader(byte flags, long count, int... values) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(CollectionFormat.HEADER_SIZE + values.length * Integer.BYTES)
+                .putInt(CollectionFormat.MAGIC).put(CollectionFormat.VERSION).put(flags).putLong(count);
+        for (int value : values) {
+            header.putInt(value);
+        }
+        header.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package telran.util.mapped;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import telran.util.Map.Entry;
+import telran.util.SortedSet;
+import telran.util.io.Serializer;
+
+public class MappedTreeMapTest {
+    private static final int N_KEYS = 100_000;
+    Path path;
+    MappedTreeMap<Integer, String> map;
+    Integer[] testKeys = { 10, -2, 12, -3 };
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = Files.createTempFile("mapped-tree-map", ".db");
+        Files.delete(path);
+        map = open();
+        for (Integer key : testKeys) {
+            map.put(key, "v" + key);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        map.close();
+        Files.delete(path);
+    }
+
+    private MappedTreeMap<Integer, String> open() {
+        return new MappedTreeMap<>(path, Serializer.INTEGER, Serializer.STRING);
+    }
+
+    private void reopen() {
+        map.close();
+        map = open();
+    }
+
+    @Test
+    void getPutRemoveTest() {
+        assertEquals("v10", map.get(10));
+        assertNull(map.get(11));
+        assertEquals("v10", map.put(10, "ten"));
+        assertEquals("ten", map.get(10));
+        assertEquals("v-2", map.remove(-2));
+        assertNull(map.remove(-2));
+        assertEquals(testKeys.length - 1, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        assertThrows(IllegalArgumentException.class, () -> map.put(1, "x".repeat(PageFile.PAGE_SIZE)));
+    }
+
+    @Test
+    void navigationTest() {
+        assertEquals(-3, map.firstKey());
+        assertEquals(12, map.lastKey());
+        assertEquals(10, map.floorKey(11));
+        assertNull(map.floorKey(-4));
+        assertEquals(10, map.ceilingKey(-1));
+        assertNull(map.ceilingKey(13));
+        Iterator<Entry<Integer, String>> it = map.entries(-2, 12);
+        assertEquals(-2, it.next().getKey());
+        Entry<Integer, String> entry = it.next();
+        assertEquals("v10", entry.getValue());
+        entry.setValue("ten");
+        assertFalse(it.hasNext());
+        assertEquals("ten", map.get(10));
+    }
+
+    @Test
+    void viewsTest() {
+        SortedSet<Integer> keys = map.keySet();
+        assertArrayEquals(new Integer[] { -3, -2, 10, 12 }, keys.stream().toArray(Integer[]::new));
+        assertArrayEquals(new Integer[] { -2, 10 }, keys.subSet(-2, 12).stream().toArray(Integer[]::new));
+        assertThrows(UnsupportedOperationException.class, () -> keys.add(1));
+        assertTrue(keys.remove(12));
+        assertFalse(map.containsKey(12));
+        assertTrue(map.values().contains("v10"));
+        assertTrue(map.containsValue("v-3"));
+        assertTrue(map.values().remove("v-3"));
+        assertEquals(2, map.entrySet().size());
+        assertEquals("v10", map.entrySet().get(new Entry<>(10, null)).getValue());
+    }
+
+    @Test
+    void reopenTest() {
+        reopen();
+        assertEquals(testKeys.length, map.size());
+        for (Integer key : testKeys) {
+            assertEquals("v" + key, map.get(key));
+        }
+    }
+
+    @Test
+    void uncommittedChangesTest() {
+        map.commit();
+        map.put(20, "v20");
+        map.remove(10);
+        try (MappedTreeMap<Integer, String> reader = open()) {
+            assertEquals(testKeys.length, reader.size());
+            assertEquals("v10", reader.get(10));
+            assertNull(reader.get(20));
+        }
+        map.commit();
+        try (MappedTreeMap<Integer, String> reader = open()) {
+            assertNull(reader.get(10));
+            assertEquals("v20", reader.get(20));
+        }
+    }
+
+    @Test
+    void tornHeaderTest() throws IOException {
+        map.commit();
+        map.put(20, "v20");
+        map.close();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer generation = ByteBuffer.allocate(Long.BYTES);
+            channel.read(generation, 12);
+            long generation0 = generation.getLong(0);
+            channel.read(generation.clear(), PageFile.PAGE_SIZE + 12);
+            long newest = generation0 > generation.getLong(0) ? 0 : PageFile.PAGE_SIZE;
+            channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), newest + 30);
+        }
+        map = open();
+        assertEquals(testKeys.length, map.size());
+        assertNull(map.get(20));
+        assertEquals("v10", map.get(10));
+    }
+
+    @Test
+    void bigMapTest() {
+        java.util.TreeMap<Integer, String> expected = new java.util.TreeMap<>();
+        testKeys = new Integer[0];
+        map.keySet().clear();
+        Random random = new Random(1);
+        for (int i = 0; i < N_KEYS * 3; i++) {
+            int key = random.nextInt(N_KEYS);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v".repeat(key % 20) + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            if (i % N_KEYS == 0) {
+                reopen();
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertArrayEquals(expected.keySet().toArray(), map.keySet().stream().toArray());
+        for (int i = 0; i < 1000; i++) {
+            int key = random.nextInt(N_KEYS + 10) - 5;
+            assertEquals(expected.floorKey(key), map.floorKey(key));
+            assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+        }
+        Iterator<Entry<Integer, String>> it = map.entries(1000, 2000);
+        for (java.util.Map.Entry<Integer, String> entry : expected.subMap(1000, 2000).entrySet()) {
+            Entry<Integer, String> actual = it.next();
+            assertEquals(entry.getKey(), actual.getKey());
+            assertEquals(entry.getValue(), actual.getValue());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    void freePagesReuseTest() throws IOException {
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < N_KEYS; i++) {
+                map.put(i, "value");
+            }
+            map.commit();
+            map.keySet().clear();
+            map.commit();
+        }
+        assertTrue(map.isEmpty());
+        assertTrue(Files.size(path) <= 8 * 1024 * 1024);
+    }
+
+}
@@ -0,0 +1,48 @@
+package telran.util.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import telran.util.HashMap;
+import telran.util.HashSet;
+import telran.util.HashTableStats;
+
+public class HashTableStatsReporterTest {
+
+    @Test
+    void reportTest() {
+        // the halves of each key cancel out in Long.hashCode
+        HashSet<Long> colliding = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> colliding.add((long) i << 32 | i));
+        HashMap<Integer, Integer> healthy = new HashMap<>();
+        IntStream.range(0, 100).forEach(i -> healthy.put(i, i));
+        try (HashTableStatsReporter reporter = new HashTableStatsReporter(1, TimeUnit.HOURS)) {
+            reporter.register("colliding", colliding);
+            reporter.register("healthy", healthy);
+            assertEquals(1, reporter.report());
+            reporter.unregister("colliding");
+            assertEquals(0, reporter.report());
+        }
+    }
+
+    @Test
+    void failingTableTest() {
+        HashSet<Integer> failing = new HashSet<>() {
+            @Override
+            public HashTableStats stats() {
+                throw new IllegalStateException();
+            }
+        };
+        HashSet<Long> colliding = new HashSet<>();
+        IntStream.range(0, 100).forEach(i -> colliding.add((long) i << 32 | i));
+        try (HashTableStatsReporter reporter = new HashTableStatsReporter(1, TimeUnit.HOURS)) {
+            reporter.register("failing", failing);
+            reporter.register("colliding", colliding);
+            assertEquals(1, reporter.report());
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package telran.util.offheap;
+
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemoryLayout.PathElement;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.ValueLayout;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapRecordListTest {
+    record Point(int x, int y, double weight) {
+    }
+
+    static class PointCodec implements RecordCodec<Point> {
+        static final StructLayout LAYOUT = MemoryLayout.structLayout(ValueLayout.JAVA_INT.withName("x"),
+                ValueLayout.JAVA_INT.withName("y"), ValueLayout.JAVA_DOUBLE.withName("weight"));
+        static final long X = LAYOUT.byteOffset(PathElement.groupElement("x"));
+        static final long Y = LAYOUT.byteOffset(PathElement.groupElement("y"));
+        static final long WEIGHT = LAYOUT.byteOffset(PathElement.groupElement("weight"));
+
+        @Override
+        public MemoryLayout layout() {
+            return LAYOUT;
+        }
+
+        @Override
+        public void write(MemorySegment record, Point point) {
+            record.set(ValueLayout.JAVA_INT, X, point.x());
+            record.set(ValueLayout.JAVA_INT, Y, point.y());
+            record.set(ValueLayout.JAVA_DOUBLE, WEIGHT, point.weight());
+        }
+
+        @Override
+        public Point read(MemorySegment record) {
+            return new Point(record.get(ValueLayout.JAVA_INT, X), record.get(ValueLayout.JAVA_INT, Y),
+                    record.get(ValueLayout.JAVA_DOUBLE, WEIGHT));
+        }
+    }
+
+    Point[] points = { new Point(3, 1, 0.5), new Point(-10, 2, 1), new Point(20, 3, 1.5), new Point(1, 4, 2) };
+    OffHeapRecordList<Point> list;
+
+    @BeforeEach
+    void setUp() {
+        list = new OffHeapRecordList<>(new PointCodec(), 1);
+        for (Point point : points) {
+            list.add(point);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        list.close();
+    }
+
+    @Test
+    void addGetTest() {
+        assertEquals(points.length, list.size());
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i], list.get(i));
+        }
+        list.add(0, new Point(0, 0, 0));
+        list.add(2, new Point(7, 7, 7));
+        list.add(list.size(), new Point(9, 9, 9));
+        assertArrayEquals(new Point[] { new Point(0, 0, 0), points[0], new Point(7, 7, 7), points[1], points[2],
+                points[3], new Point(9, 9, 9) }, list.stream().toArray(Point[]::new));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(list.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(-1, points[0]));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+    }
+
+    @Test
+    void removeTest() {
+        assertEquals(points[1], list.remove(1));
+        assertEquals(points[3], list.remove(2));
+        assertArrayEquals(new Point[] { points[0], points[2] }, list.stream().toArray(Point[]::new));
+        assertTrue(list.remove(points[0]));
+        assertFalse(list.remove(points[0]));
+        assertEquals(1, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(1));
+    }
+
+    @Test
+    void indexOfTest() {
+        list.add(points[1]);
+        assertEquals(1, list.indexOf(new Point(-10, 2, 1)));
+        assertEquals(points.length, list.lastIndexOf(new Point(-10, 2, 1)));
+        assertEquals(-1, list.indexOf(new Point(-10, 2, 1.25)));
+        assertEquals(-1, list.lastIndexOf(null));
+        assertTrue(list.contains(points[3]));
+    }
+
+    @Test
+    void iteratorRemoveIfTest() {
+        Iterator<Point> it = list.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+        it.next();
+        it.remove();
+        assertEquals(points.length - 1, list.size());
+        assertTrue(list.removeIf(p -> p.x() > 0));
+        assertFalse(list.removeIf(p -> p.x() > 0));
+        assertArrayEquals(new Point[] { points[1] }, list.stream().toArray(Point[]::new));
+    }
+
+    @Test
+    void recordTest() {
+        list.record(2).set(ValueLayout.JAVA_INT, PointCodec.X, 200);
+        assertEquals(new Point(200, 3, 1.5), list.get(2));
+        list.set(0, new Point(5, 5, 5));
+        assertEquals(new Point(5, 5, 5), list.get(0));
+        int[] ySum = { 0 };
+        list.forEachRecord(record -> ySum[0] += record.get(ValueLayout.JAVA_INT, PointCodec.Y));
+        assertEquals(14, ySum[0]);
+    }
+
+    @Test
+    void closeTest() {
+        MemorySegment record = list.record(0);
+        list.add(new Point(8, 8, 8));
+        assertThrows(IllegalStateException.class, () -> record.get(ValueLayout.JAVA_INT, PointCodec.X));
+        list.close();
+        assertFalse(list.isOpen());
+        assertTrue(list.isEmpty());
+        assertThrows(IllegalStateException.class, () -> list.add(points[0]));
+        list.close();
+    }
+
+    @Test
+    void bigListTest() {
+        int nRecords = 1_000_000;
+        try (OffHeapRecordList<Point> bigList = new OffHeapRecordList<>(new PointCodec())) {
+            IntStream.range(0, nRecords).forEach(i -> bigList.add(new Point(i, -i, i / 2.0)));
+            assertEquals(nRecords, bigList.size());
+            assertTrue(IntStream.range(0, nRecords).allMatch(i -> bigList.get(i).equals(new Point(i, -i, i / 2.0))));
+            bigList.removeIf(p -> p.x() % 2 == 0);
+            assertEquals(nRecords / 2, bigList.size());
+            assertEquals(new Point(nRecords - 1, 1 - nRecords, (nRecords - 1) / 2.0), bigList.get(nRecords / 2 - 1));
+        }
+    }
+
+}
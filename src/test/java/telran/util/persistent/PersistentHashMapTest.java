@@ -0,0 +1,115 @@
+package telran.util.persistent;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import telran.util.Map.Entry;
+
+public class PersistentHashMapTest {
+    private static final int N_KEYS = 100_000;
+    PersistentHashMap<Integer, String> map;
+    Integer[] keys = { 3, -10, 20, 1, 10, 8, 100, 17 };
+
+    @BeforeEach
+    void setUp() {
+        map = PersistentHashMap.empty();
+        for (Integer key : keys) {
+            map = map.with(key, "v" + key);
+        }
+    }
+
+    @Test
+    void withWithoutTest() {
+        PersistentHashMap<Integer, String> old = map;
+        PersistentHashMap<Integer, String> changed = map.with(3, "new").with(5, "v5").without(100);
+        assertEquals(keys.length, changed.size());
+        assertEquals("new", changed.get(3));
+        assertEquals("v5", changed.get(5));
+        assertNull(changed.get(100));
+        assertSame(old, map);
+        assertEquals(keys.length, map.size());
+        assertEquals("v3", map.get(3));
+        assertNull(map.get(5));
+        assertEquals("v100", map.get(100));
+        assertSame(map, map.without(1000));
+        assertSame(map, map.with(3, map.get(3)));
+        assertThrows(NullPointerException.class, () -> map.with(5, null));
+        assertThrows(UnsupportedOperationException.class, () -> map.put(5, "v5"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove(3));
+    }
+
+    @Test
+    void collisionsTest() {
+        // the keys i << 16 | i have the hashes 0 after the mixing
+        PersistentHashMap<Integer, Integer> colliding = PersistentHashMap.empty();
+        for (int i = 0; i < 100; i++) {
+            colliding = colliding.with(i << 16 | i, i);
+        }
+        colliding = colliding.with(1, -1);
+        assertEquals(101, colliding.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, colliding.get(i << 16 | i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            colliding = colliding.without(i << 16 | i);
+        }
+        assertEquals(51, colliding.size());
+        assertNull(colliding.get(0));
+        assertEquals(1, colliding.get(1 << 16 | 1));
+        assertEquals(-1, colliding.get(1));
+    }
+
+    @Test
+    void viewsTest() {
+        assertEquals(keys.length, map.keySet().size());
+        assertTrue(map.keySet().contains(17));
+        assertTrue(map.values().contains("v17"));
+        assertFalse(map.containsValue("v18"));
+        assertEquals(keys.length, map.entrySet().stream().filter(e -> e.getValue().equals("v" + e.getKey())).count());
+        assertThrows(UnsupportedOperationException.class, () -> map.keySet().remove(3));
+        assertThrows(UnsupportedOperationException.class, () -> map.values().clear());
+        Entry<Integer, String> entry = map.entrySet().get(new Entry<>(3, null));
+        entry.setValue("changed");
+        assertEquals("v3", map.get(3));
+    }
+
+    @Test
+    void randomizedTest() {
+        Random random = new Random(0);
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        PersistentHashMap<Integer, Integer> actual = PersistentHashMap.empty();
+        PersistentHashMap<Integer, Integer> half = null;
+        java.util.HashMap<Integer, Integer> expectedHalf = null;
+        for (int i = 0; i < N_KEYS; i++) {
+            int key = random.nextInt(N_KEYS / 2);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.without(key);
+            } else {
+                expected.put(key, i);
+                actual = actual.with(key, i);
+            }
+            if (i == N_KEYS / 2) {
+                half = actual;
+                expectedHalf = new java.util.HashMap<>(expected);
+            }
+        }
+        assertMapEquals(expected, actual);
+        assertMapEquals(expectedHalf, half);
+    }
+
+    private static void assertMapEquals(java.util.HashMap<Integer, Integer> expected,
+            PersistentHashMap<Integer, Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((key, value) -> assertEquals(value, actual.get(key)));
+        assertEquals(expected.size(), actual.keySet().stream().distinct().count());
+    }
+}
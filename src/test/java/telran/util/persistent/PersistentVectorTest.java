@@ -0,0 +1,67 @@
+package telran.util.persistent;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class PersistentVectorTest {
+    private static final int N_ELEMENTS = 100_000;
+    Integer[] array = { 3, -10, 20, 1, 10, 8, 100, 17 };
+
+    @Test
+    void withWithoutLastTest() {
+        PersistentVector<Integer> vector = PersistentVector.of(array);
+        PersistentVector<Integer> changed = vector.with(0, 999).with(1000).withoutLast().withoutLast();
+        assertArrayEquals(array, vector.stream().toArray(Integer[]::new));
+        assertEquals(array.length - 1, changed.size());
+        assertEquals(999, changed.get(0));
+        assertEquals(100, changed.get(changed.size() - 1));
+        assertEquals(6, vector.indexOf(100));
+        assertEquals(-1, vector.indexOf(1000));
+        assertEquals(2, vector.lastIndexOf(20));
+        assertTrue(vector.contains(17));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(array.length));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.with(array.length, 0));
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(0));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+        assertThrows(java.util.NoSuchElementException.class, () -> PersistentVector.empty().withoutLast());
+    }
+
+    @Test
+    void bigVectorTest() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            vector = vector.with(i);
+        }
+        PersistentVector<Integer> old = vector;
+        Random random = new Random(0);
+        int[] expected = new int[N_ELEMENTS];
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            expected[i] = i;
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int index = random.nextInt(N_ELEMENTS);
+            expected[index] = -i;
+            vector = vector.with(index, -i);
+        }
+        assertArrayEquals(expected, vector.stream().mapToInt(Integer::intValue).toArray());
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            assertEquals(i, old.get(i));
+        }
+        // popping down to empty passes every change of the trie height back
+        for (int size = N_ELEMENTS - 1; size >= 0; size--) {
+            vector = vector.withoutLast();
+            assertEquals(size, vector.size());
+            if (size > 0) {
+                assertEquals(expected[size - 1], vector.get(size - 1));
+            }
+        }
+        assertTrue(vector.isEmpty());
+        assertEquals(N_ELEMENTS, old.size());
+        assertEquals(N_ELEMENTS - 1, old.get(N_ELEMENTS - 1));
+    }
+}
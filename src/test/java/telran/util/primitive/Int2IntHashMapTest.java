@@ -0,0 +1,90 @@
+package telran.util.primitive;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class Int2IntHashMapTest {
+    private static final int MISSING = -1;
+    Int2IntMap map;
+    int[] testKeys = { 10, -2, 12, -3, 0 };
+
+    @BeforeEach
+    void setUp() {
+        map = new Int2IntHashMap(MISSING);
+        for (int key : testKeys) {
+            map.put(key, key * key);
+        }
+    }
+
+    @Test
+    void getTest() {
+        for (int key : testKeys) {
+            assertEquals(key * key, map.get(key));
+        }
+        assertEquals(MISSING, map.get(99));
+        assertEquals(5, map.getOrDefault(99, 5));
+    }
+
+    @Test
+    void putTest() {
+        assertEquals(100, map.put(10, 1));
+        assertEquals(MISSING, map.put(20, 400));
+        assertEquals(0, map.put(0, 7));
+        assertEquals(1, map.get(10));
+        assertEquals(7, map.get(0));
+        assertEquals(testKeys.length + 1, map.size());
+        assertEquals(400, map.putIfAbsent(20, 1));
+        assertEquals(MISSING, map.putIfAbsent(21, 1));
+    }
+
+    @Test
+    void addToTest() {
+        assertEquals(1, map.addTo(5, 1));
+        assertEquals(3, map.addTo(5, 2));
+        assertEquals(101, map.addTo(10, 1));
+        assertEquals(-1, map.addTo(0, -1));
+        assertEquals(testKeys.length + 1, map.size());
+    }
+
+    @Test
+    void containsTest() {
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(99));
+        assertTrue(map.containsValue(144));
+        assertFalse(map.containsValue(99));
+    }
+
+    @Test
+    void removeTest() {
+        assertEquals(4, map.remove(-2));
+        assertEquals(0, map.remove(0));
+        assertEquals(MISSING, map.remove(-2));
+        assertEquals(testKeys.length - 2, map.size());
+        assertFalse(map.containsKey(-2));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void keysValuesTest() {
+        assertArrayEquals(new int[] { -3, -2, 0, 10, 12 }, map.keys().sorted().toArray());
+        assertArrayEquals(new int[] { 0, 4, 9, 100, 144 }, map.values().sorted().toArray());
+    }
+
+    @Test
+    void countersTest() {
+        Int2IntMap counters = new Int2IntHashMap();
+        IntStream.range(0, 100_000).forEach(i -> counters.addTo(i % 1000, 1));
+        assertEquals(1000, counters.size());
+        assertTrue(counters.values().allMatch(v -> v == 100));
+        IntStream.range(0, 1000).filter(i -> i % 2 == 0).forEach(counters::remove);
+        assertEquals(500, counters.size());
+        assertTrue(counters.keys().allMatch(k -> k % 2 != 0 && counters.get(k) == 100));
+    }
+}
@@ -0,0 +1,85 @@
+package telran.util.primitive;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IntArrayListTest {
+    IntList list;
+    int[] array = { 3, -10, 20, 1, 10, 8, 100, 17 };
+
+    @BeforeEach
+    void setUp() {
+        list = new IntArrayList(3);
+        for (int value : array) {
+            list.add(value);
+        }
+    }
+
+    @Test
+    void addTest() {
+        list.add(0, 999);
+        list.add(list.size(), 1000);
+        list.add(5, 500);
+        assertArrayEquals(new int[] { 999, 3, -10, 20, 1, 500, 10, 8, 100, 17, 1000 }, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(100, 1));
+    }
+
+    @Test
+    void getTest() {
+        assertEquals(20, list.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(array.length));
+    }
+
+    @Test
+    void removeTest() {
+        assertEquals(20, list.removeAt(2));
+        assertTrue(list.remove(100));
+        assertFalse(list.remove(100));
+        assertArrayEquals(new int[] { 3, -10, 1, 10, 8, 17 }, list.toArray());
+    }
+
+    @Test
+    void indexOfTest() {
+        list.add(3);
+        assertEquals(0, list.indexOf(3));
+        assertEquals(array.length, list.lastIndexOf(3));
+        assertEquals(-1, list.indexOf(12));
+        assertTrue(list.contains(17));
+        assertFalse(list.contains(12));
+    }
+
+    @Test
+    void iteratorTest() {
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        assertThrowsExactly(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.nextInt() < 10) {
+                iterator.remove();
+            }
+        }
+        assertArrayEquals(new int[] { 20, 10, 100, 17 }, list.toArray());
+    }
+
+    @Test
+    void removeIfTest() {
+        assertTrue(list.removeIf(n -> n % 2 == 0));
+        assertFalse(list.removeIf(n -> n % 2 == 0));
+        assertArrayEquals(new int[] { 3, 1, 17 }, list.toArray());
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void streamTest() {
+        assertEquals(149, list.stream().sum());
+        assertEquals(array.length, list.size());
+    }
+}
@@ -0,0 +1,94 @@
+package telran.util.primitive;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IntHashSetTest {
+    private static final int N_ELEMENTS = 1_048_575;
+    IntSet set;
+    int[] array = { 3, -10, 20, 1, 10, 8, 100, 17, 0 };
+
+    @BeforeEach
+    void setUp() {
+        set = new IntHashSet();
+        for (int value : array) {
+            set.add(value);
+        }
+    }
+
+    @Test
+    void addTest() {
+        assertTrue(set.add(200));
+        assertFalse(set.add(17));
+        assertFalse(set.add(0));
+        assertEquals(array.length + 1, set.size());
+    }
+
+    @Test
+    void removeTest() {
+        assertTrue(set.remove(-10));
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(-10));
+        assertFalse(set.contains(0));
+        assertFalse(set.remove(200));
+        assertEquals(array.length - 2, set.size());
+    }
+
+    @Test
+    void streamTest() {
+        runTest(array);
+    }
+
+    @Test
+    void iteratorTest() {
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        assertThrowsExactly(IllegalStateException.class, iterator::remove);
+        int count = 0;
+        while (iterator.hasNext()) {
+            if (iterator.nextInt() % 2 == 0) {
+                iterator.remove();
+            }
+            count++;
+        }
+        assertEquals(array.length, count);
+        runTest(new int[] { 3, 1, 17 });
+    }
+
+    @Test
+    void removeIfTest() {
+        assertTrue(set.removeIf(n -> n % 2 == 0));
+        assertFalse(set.removeIf(n -> n % 2 == 0));
+        runTest(new int[] { 3, 1, 17 });
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void bigSetTest() {
+        Random random = new Random();
+        int[] values = random.ints().distinct().limit(N_ELEMENTS).toArray();
+        IntSet bigSet = new IntHashSet();
+        Arrays.stream(values).forEach(bigSet::add);
+        assertEquals(N_ELEMENTS, bigSet.size());
+        assertTrue(Arrays.stream(values).allMatch(bigSet::contains));
+        bigSet.removeIf(n -> n % 2 == 0);
+        assertTrue(bigSet.stream().allMatch(n -> n % 2 != 0));
+        assertEquals(Arrays.stream(values).filter(n -> n % 2 != 0).count(), bigSet.size());
+    }
+
+    private void runTest(int[] expected) {
+        int[] expectedSorted = expected.clone();
+        Arrays.sort(expectedSorted);
+        assertArrayEquals(expectedSorted, set.stream().sorted().toArray());
+        assertEquals(expected.length, set.size());
+    }
+}
@@ -0,0 +1,86 @@
+package telran.util.primitive;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LongArrayListTest {
+    LongList list;
+    long[] array = { 3, -10, 20, 1, 10, 8, 100, 17 };
+
+    @BeforeEach
+    void setUp() {
+        list = new LongArrayList(3);
+        for (long value : array) {
+            list.add(value);
+        }
+    }
+
+    @Test
+    void addTest() {
+        list.add(0, 999);
+        list.add(list.size(), 1000);
+        list.add(5, 500);
+        assertArrayEquals(new long[] { 999, 3, -10, 20, 1, 500, 10, 8, 100, 17, 1000 }, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(100, 1));
+    }
+
+    @Test
+    void getTest() {
+        assertEquals(20L, list.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(array.length));
+    }
+
+    @Test
+    void removeTest() {
+        assertEquals(20L, list.removeAt(2));
+        assertTrue(list.remove(100));
+        assertFalse(list.remove(100));
+        assertArrayEquals(new long[] { 3, -10, 1, 10, 8, 17 }, list.toArray());
+    }
+
+    @Test
+    void indexOfTest() {
+        list.add(3);
+        assertEquals(0, list.indexOf(3));
+        assertEquals(array.length, list.lastIndexOf(3));
+        assertEquals(-1, list.indexOf(12));
+        assertTrue(list.contains(17));
+        assertFalse(list.contains(12));
+    }
+
+    @Test
+    void iteratorTest() {
+        PrimitiveIterator.OfLong iterator = list.iterator();
+        assertThrowsExactly(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.nextLong() < 10) {
+                iterator.remove();
+            }
+        }
+        assertArrayEquals(new long[] { 20, 10, 100, 17 }, list.toArray());
+    }
+
+    @Test
+    void removeIfTest() {
+        assertTrue(list.removeIf(n -> n % 2 == 0));
+        assertFalse(list.removeIf(n -> n % 2 == 0));
+        assertArrayEquals(new long[] { 3, 1, 17 }, list.toArray());
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void streamTest() {
+        list.add(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, list.stream().max().getAsLong());
+        assertEquals(array.length + 1, list.size());
+    }
+}